@@ -0,0 +1,29 @@
+package io.github.andrehsvictor.memorix.apigateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Identifies clients by address. X-Forwarded-For is only trusted as far as the configured
+     * number of proxies in front of the gateway.
+     */
+    @Bean
+    KeyResolver clientAddressKeyResolver(@Value("${memorix.gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        RemoteAddressResolver resolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+        return exchange -> Mono.justOrEmpty(resolver.resolve(exchange))
+                .map(address -> address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString());
+    }
+
+}
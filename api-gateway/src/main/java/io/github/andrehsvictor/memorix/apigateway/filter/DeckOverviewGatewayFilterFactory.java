@@ -0,0 +1,183 @@
+package io.github.andrehsvictor.memorix.apigateway.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers {@code GET /api/v2/decks/{id}/overview} with the deck and the first page of its cards,
+ * fetched from deck-service and card-service in parallel. The deck is required: its errors are
+ * relayed as they are. The cards are optional: if card-service fails or times out the deck is
+ * still returned, with {@code cards} null and listed in {@code unavailable}. Cards are loaded from
+ * the same card-service variant the card routes use.
+ */
+@Component
+public class DeckOverviewGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<DeckOverviewGatewayFilterFactory.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(DeckOverviewGatewayFilterFactory.class);
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final String cardServiceUri;
+    private final Duration timeout;
+    private final int maxPageSize;
+
+    public DeckOverviewGatewayFilterFactory(
+            @LoadBalanced WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            @Value("${memorix.gateway.card-service-uri:lb://card-service}") String cardServiceUri,
+            @Value("${memorix.gateway.overview.timeout:3s}") Duration timeout,
+            @Value("${memorix.gateway.overview.max-page-size:100}") int maxPageSize) {
+        super(Config.class);
+        this.webClient = webClientBuilder.build();
+        this.objectMapper = objectMapper;
+        this.cardServiceUri = cardServiceUri;
+        this.timeout = timeout;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("pageSize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String deckId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("id");
+            int size = pageSize(exchange, config.getPageSize());
+            Mono<ResponseEntity<JsonNode>> deck = fetch("lb://deck-service/api/v2/decks/{id}", deckId);
+            Mono<Optional<ResponseEntity<JsonNode>>> cards = fetch(
+                    cardServiceUri + "/api/v2/decks/{id}/cards?page=0&size={size}", deckId, size)
+                    .map(Optional::of)
+                    .onErrorResume(e -> {
+                        log.warn("Serving overview of deck with ID {} without cards: {}", deckId, e.toString());
+                        return Mono.just(Optional.empty());
+                    });
+            return Mono.zip(deck, cards)
+                    .flatMap(parts -> write(exchange, parts.getT1(), parts.getT2().orElse(null)))
+                    .onErrorResume(WebClientResponseException.class, e -> relay(exchange.getResponse(), e))
+                    .onErrorMap(TimeoutException.class,
+                            e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Deck service timed out", e))
+                    .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                            e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Deck service unavailable", e));
+        };
+    }
+
+    private Mono<ResponseEntity<JsonNode>> fetch(String uri, Object... variables) {
+        return webClient.get()
+                .uri(uri, variables)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toEntity(JsonNode.class)
+                .timeout(timeout);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<JsonNode> deck,
+            ResponseEntity<JsonNode> cards) {
+        DeckOverview overview = new DeckOverview(
+                deck.getBody(),
+                cards != null ? cards.getBody() : null,
+                cards != null ? List.of() : List.of("cards"));
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String eTag = eTag(deck, cards);
+        if (eTag != null) {
+            headers.setETag(eTag);
+            headers.setCacheControl(deck.getHeaders().getCacheControl());
+            if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(eTag)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(overview);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private Mono<Void> relay(ServerHttpResponse response, WebClientResponseException e) {
+        response.setStatusCode(e.getStatusCode());
+        if (e.getHeaders().getContentType() != null) {
+            response.getHeaders().setContentType(e.getHeaders().getContentType());
+        }
+        byte[] body = e.getResponseBodyAsByteArray();
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private int pageSize(ServerWebExchange exchange, int defaultSize) {
+        String size = exchange.getRequest().getQueryParams().getFirst("size");
+        if (size == null) {
+            return defaultSize;
+        }
+        try {
+            return Math.clamp(Integer.parseInt(size), 1, maxPageSize);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page size: " + size);
+        }
+    }
+
+    /**
+     * Combines the parts' validators, so the overview changes whenever either part does.
+     */
+    private static String eTag(ResponseEntity<JsonNode> deck, ResponseEntity<JsonNode> cards) {
+        String deckETag = deck.getHeaders().getETag();
+        String cardsETag = cards != null ? cards.getHeaders().getETag() : null;
+        if (deckETag == null || cardsETag == null) {
+            return null;
+        }
+        return "\"" + DigestUtils.md5DigestAsHex((deckETag + "|" + cardsETag).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public record DeckOverview(JsonNode deck, JsonNode cards, List<String> unavailable) {
+    }
+
+    public static class Config {
+
+        private int pageSize = 20;
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+    }
+
+}
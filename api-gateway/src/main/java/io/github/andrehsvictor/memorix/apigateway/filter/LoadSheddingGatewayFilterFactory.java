@@ -0,0 +1,180 @@
+package io.github.andrehsvictor.memorix.apigateway.filter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Caps the requests a route lets through to its upstream at once, and answers the rest with an
+ * immediate 503. The cap adapts to latency: while recent latency stays within {@code tolerance}
+ * of the long-term average the cap grows, and once it rises above that the cap shrinks in
+ * proportion, so queues in the services are cut short before their worker pools saturate.
+ */
+@Component
+public class LoadSheddingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<LoadSheddingGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    /** Kept by route ID, so a route refresh carries the learnt limit over and gauges stay bound. */
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    public LoadSheddingGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${memorix.gateway.load-shedding.initial-limit:100}") int initialLimit,
+            @Value("${memorix.gateway.load-shedding.min-limit:10}") int minLimit,
+            @Value("${memorix.gateway.load-shedding.max-limit:1000}") int maxLimit,
+            @Value("${memorix.gateway.load-shedding.tolerance:1.5}") double tolerance,
+            @Value("${memorix.gateway.load-shedding.smoothing:0.2}") double smoothing) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        AdaptiveLimit limit = limits.computeIfAbsent(routeId, this::adaptiveLimit);
+        Counter admitted = requests(routeId, "admitted");
+        Counter shed = requests(routeId, "shed");
+        return (exchange, chain) -> {
+            if (!limit.tryAcquire()) {
+                shed.increment();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return response.setComplete();
+            }
+            admitted.increment();
+            long started = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> limit.release(System.nanoTime() - started, signal == SignalType.CANCEL));
+        };
+    }
+
+    private AdaptiveLimit adaptiveLimit(String routeId) {
+        AdaptiveLimit limit = new AdaptiveLimit();
+        Gauge.builder("memorix.gateway.load-shedding.limit", limit, AdaptiveLimit::getLimit)
+                .tag("route", routeId)
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("memorix.gateway.load-shedding.in-flight", limit.inFlight, AtomicInteger::get)
+                .tag("route", routeId)
+                .strongReference(true)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private Counter requests(String routeId, String result) {
+        return Counter.builder("memorix.gateway.load-shedding.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private final class AdaptiveLimit {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean updating = new AtomicBoolean();
+        private volatile int limit = initialLimit;
+        private double estimate = initialLimit;
+        private double shortLatency;
+        private double longLatency;
+
+        private int getLimit() {
+            return limit;
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release(long latency, boolean cancelled) {
+            int active = inFlight.getAndDecrement();
+            if (!cancelled) {
+                update(latency, active);
+            }
+        }
+
+        /**
+         * Samples rather than serializes: a completion that finds another one updating the limit
+         * is dropped, so event loops never wait on each other here.
+         */
+        private void update(long latency, int active) {
+            if (!updating.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                adapt(latency, active);
+            } finally {
+                updating.set(false);
+            }
+        }
+
+        private void adapt(long latency, int active) {
+            shortLatency = shortLatency == 0 ? latency : shortLatency * 0.9 + latency * 0.1;
+            longLatency = longLatency == 0 ? latency : longLatency * 0.99 + latency * 0.01;
+            if (longLatency > shortLatency * 2) {
+                // Latency has been low for a while; let the baseline follow it down.
+                longLatency *= 0.95;
+            }
+            if (active < limit / 2) {
+                // The current limit is not what holds traffic back, so there is nothing to learn.
+                return;
+            }
+            double gradient = Math.clamp(tolerance * longLatency / shortLatency, 0.5, 1.0);
+            double target = estimate * gradient + Math.sqrt(estimate);
+            estimate = Math.clamp(estimate * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+            limit = (int) estimate;
+        }
+
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+    }
+
+}
@@ -0,0 +1,251 @@
+package io.github.andrehsvictor.memorix.apigateway.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses identical concurrent GETs into a single upstream call. The first request becomes the
+ * leader; requests with the same path, query and key headers that arrive while it is in flight
+ * wait for its buffered response instead of going upstream. A waiter that times out, whose
+ * leader fails or streams, or that arrives once the waiter limit is reached is forwarded on its own.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date", "vary", "set-cookie",
+            "x-cache");
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final List<String> keyHeaders;
+    private final Duration timeout;
+    private final int maxWaiters;
+    private final int maxBodySize;
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+    private final Counter rejected;
+
+    public RequestCoalescingGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${memorix.gateway.coalescing.key-headers:Accept,Accept-Encoding,Accept-Language,Authorization,If-None-Match,If-Modified-Since}") List<String> keyHeaders,
+            @Value("${memorix.gateway.coalescing.timeout:5s}") Duration timeout,
+            @Value("${memorix.gateway.coalescing.max-waiters:1000}") int maxWaiters,
+            @Value("${memorix.gateway.coalescing.max-body-size:1MB}") DataSize maxBodySize) {
+        super(Config.class);
+        this.keyHeaders = List.copyOf(keyHeaders);
+        this.timeout = timeout;
+        this.maxWaiters = maxWaiters;
+        this.maxBodySize = Math.toIntExact(maxBodySize.toBytes());
+        this.leaders = requests(meterRegistry, "leader");
+        this.followers = requests(meterRegistry, "follower");
+        this.fallbacks = requests(meterRegistry, "fallback");
+        this.rejected = requests(meterRegistry, "rejected");
+        Gauge.builder("memorix.gateway.coalescing.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration routeTimeout = config.getTimeout() != null ? config.getTimeout() : timeout;
+        return (exchange, chain) -> {
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            String key = key(exchange.getRequest());
+            InFlight leader = new InFlight();
+            InFlight existing = inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                leaders.increment();
+                return lead(exchange, chain, key, leader);
+            }
+            return follow(exchange, chain, existing, routeTimeout);
+        };
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, InFlight leader) {
+        SharingResponse response = new SharingResponse(exchange.getResponse(), leader);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, leader);
+                    // Anything not shared by now (errors, cancellations, streaming bodies) sends waiters upstream.
+                    leader.result.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, InFlight leader,
+            Duration routeTimeout) {
+        if (leader.waiters.incrementAndGet() > maxWaiters) {
+            leader.waiters.decrementAndGet();
+            rejected.increment();
+            return chain.filter(exchange);
+        }
+        return leader.result.asMono()
+                .timeout(routeTimeout, Mono.empty())
+                .doFinally(signal -> leader.waiters.decrementAndGet())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        fallbacks.increment();
+                        return chain.filter(exchange);
+                    }
+                    followers.increment();
+                    return write(exchange.getResponse(), shared.get());
+                });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach(headers::put);
+        shared.vary().stream()
+                .filter(name -> !headers.getVary().contains(name))
+                .forEach(name -> headers.add(HttpHeaders.VARY, name));
+        response.setStatusCode(shared.status());
+        if (shared.body() == null || shared.body().length == 0) {
+            return response.setComplete();
+        }
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private String key(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String uri = query != null ? request.getPath().value() + "?" + query : request.getPath().value();
+        return uri + keyHeaders.stream()
+                .map(name -> name + "=" + String.join(",", request.getHeaders().getOrEmpty(name)))
+                .collect(Collectors.joining("\n", "\n", ""));
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("memorix.gateway.coalescing.requests")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private static SharedResponse share(ServerHttpResponse response, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!UNSHARED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        List<String> vary = response.getHeaders().getVary().stream()
+                .filter(name -> !name.toLowerCase(Locale.ROOT).startsWith("access-control-")
+                        && !name.equalsIgnoreCase(HttpHeaders.ORIGIN))
+                .toList();
+        return new SharedResponse(response.getStatusCode(), headers, vary, body);
+    }
+
+    private static final class InFlight {
+
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, List<String> vary, byte[] body) {
+    }
+
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final InFlight leader;
+
+        private SharingResponse(ServerHttpResponse delegate, InFlight leader) {
+            super(delegate);
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().containsKey(HttpHeaders.SET_COOKIE) || getHeaders().getContentLength() > maxBodySize) {
+                return super.writeWith(body);
+            }
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            boolean[] overflowed = { false };
+            Flux<? extends DataBuffer> copied = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (overflowed[0]) {
+                            return;
+                        }
+                        if (captured.size() + buffer.readableByteCount() > maxBodySize) {
+                            overflowed[0] = true;
+                            return;
+                        }
+                        int position = buffer.readPosition();
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        buffer.readPosition(position);
+                        captured.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (!overflowed[0]) {
+                            leader.result.tryEmitValue(share(getDelegate(), captured.toByteArray()));
+                        }
+                    });
+            return super.writeWith(copied);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            if (!isCommitted()) {
+                leader.result.tryEmitValue(share(getDelegate(), null));
+            }
+            return super.setComplete();
+        }
+
+    }
+
+    public static class Config {
+
+        private Duration timeout;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+    }
+
+}
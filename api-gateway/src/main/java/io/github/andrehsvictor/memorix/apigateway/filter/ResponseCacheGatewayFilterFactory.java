@@ -0,0 +1,368 @@
+package io.github.andrehsvictor.memorix.apigateway.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves GET responses from a local, size- and TTL-bounded cache. Only responses the upstream
+ * explicitly allows a shared cache to store ({@code s-maxage} or {@code max-age}) are kept, one
+ * entry per variant named by {@code Vary} and per {@code Accept-Encoding}. Writes through the gateway evict the written resource,
+ * its sub-resources and the collections above it.
+ * <p>
+ * Each stored response weighs at least {@code maximum-weight / maximum-entries}, so the cache holds
+ * at most {@code maximum-entries} responses however small they are, and at most
+ * {@code maximum-weight} bytes however large. Responses are indexed by path so that a write only
+ * touches the entries it affects.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String X_CACHE = "X-Cache";
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(
+            HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date", "age", "vary",
+            "set-cookie", "x-cache");
+
+    private final Cache<String, CachedResponse> responses;
+    private final Cache<String, List<String>> varyByUri;
+    /** "{path} {variant key}" of every stored response, sorted so a path's entries are a range. */
+    private final NavigableSet<String> keysByPath = new ConcurrentSkipListSet<>();
+    private final long maxEntrySize;
+    private final Duration maxTtl;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter invalidations;
+
+    public ResponseCacheGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${memorix.gateway.response-cache.maximum-entries:10000}") long maximumEntries,
+            @Value("${memorix.gateway.response-cache.maximum-weight:64MB}") DataSize maximumWeight,
+            @Value("${memorix.gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Value("${memorix.gateway.response-cache.max-ttl:30s}") Duration maxTtl) {
+        super(Config.class);
+        long minimumWeight = Math.min(Integer.MAX_VALUE, Math.max(1, maximumWeight.toBytes() / maximumEntries));
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, CachedResponse response) ->
+                        (int) Math.max(minimumWeight, key.length() + response.body().length))
+                .expireAfter(Expiry.<String, CachedResponse>creating((key, response) -> response.ttl()))
+                .evictionListener((String key, CachedResponse response, RemovalCause cause) ->
+                        keysByPath.remove(indexKey(response.path(), key)))
+                .recordStats()
+                .build();
+        this.varyByUri = Caffeine.newBuilder()
+                .maximumSize(maximumEntries)
+                .expireAfterWrite(maxTtl)
+                .build();
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.maxTtl = maxTtl;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.bypasses = requests(meterRegistry, "bypass");
+        this.invalidations = Counter.builder("memorix.gateway.response-cache.invalidations")
+                .register(meterRegistry);
+        Gauge.builder("memorix.gateway.response-cache.hit-ratio", this, factory -> factory.hitRatio())
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gatewayResponses");
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxTtl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration routeMaxTtl = config.getMaxTtl() != null ? config.getMaxTtl() : maxTtl;
+        return (exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (HttpMethod.GET.equals(method)) {
+                return get(exchange, chain, routeMaxTtl);
+            }
+            if (WRITE_METHODS.contains(method)) {
+                String path = normalize(exchange.getRequest().getPath().value());
+                return chain.filter(exchange).doFinally(signal -> invalidate(path));
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    private Mono<Void> get(ServerWebExchange exchange, GatewayFilterChain chain, Duration routeMaxTtl) {
+        ServerHttpRequest request = exchange.getRequest();
+        Set<String> directives = directives(request.getHeaders());
+        if (directives.contains("no-store")) {
+            bypasses.increment();
+            return chain.filter(exchange);
+        }
+        String uri = uri(request);
+        if (!directives.contains("no-cache")) {
+            List<String> vary = varyByUri.getIfPresent(uri);
+            CachedResponse cached = vary != null
+                    ? responses.getIfPresent(variantKey(uri, vary, request.getHeaders()))
+                    : null;
+            if (cached != null) {
+                hits.increment();
+                return serve(exchange, cached, vary);
+            }
+        }
+        misses.increment();
+        CachingResponse response = new CachingResponse(exchange.getResponse(), request, uri, routeMaxTtl);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, List<String> vary) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        vary.stream()
+                .filter(name -> !headers.getVary().contains(name))
+                .forEach(name -> headers.add(HttpHeaders.VARY, name));
+        headers.set(HttpHeaders.AGE, Long.toString(Duration.between(cached.storedAt(), Instant.now()).toSeconds()));
+        headers.set(X_CACHE, "HIT");
+        String eTag = cached.headers().getETag();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (eTag != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.contains("*"))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void store(String uri, ServerHttpRequest request, HttpHeaders headers, List<String> vary,
+            byte[] body, Duration ttl) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!UNSTORED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        String path = normalize(request.getPath().value());
+        String key = variantKey(uri, vary, request.getHeaders());
+        varyByUri.put(uri, vary);
+        responses.put(key, new CachedResponse(path, stored, body, Instant.now(), ttl));
+        keysByPath.add(indexKey(path, key));
+    }
+
+    private void invalidate(String path) {
+        // The path itself, its sub-resources, then each collection above it
+        invalidate(keysByPath.subSet(path + " ", path + "!"));
+        invalidate(keysByPath.subSet(path + "/", path + "0"));
+        for (int slash = path.lastIndexOf('/'); slash > 0; slash = path.lastIndexOf('/', slash - 1)) {
+            String parent = path.substring(0, slash);
+            invalidate(keysByPath.subSet(parent + " ", parent + "!"));
+        }
+    }
+
+    private void invalidate(Set<String> indexKeys) {
+        for (String indexKey : indexKeys) {
+            if (keysByPath.remove(indexKey)
+                    && responses.asMap().remove(indexKey.substring(indexKey.indexOf(' ') + 1)) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * How long a response may be kept, or {@code null} if the upstream did not allow a shared
+     * cache to store it.
+     */
+    private Duration cacheableFor(ServerHttpResponse response, Duration routeMaxTtl) {
+        HttpHeaders headers = response.getHeaders();
+        if (!HttpStatus.OK.equals(response.getStatusCode())
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")
+                || headers.getContentLength() > maxEntrySize) {
+            return null;
+        }
+        Set<String> directives = directives(headers);
+        if (directives.contains("no-store") || directives.contains("no-cache") || directives.contains("private")) {
+            return null;
+        }
+        Long seconds = seconds(directives, "s-maxage=");
+        if (seconds == null) {
+            seconds = seconds(directives, "max-age=");
+        }
+        if (seconds == null || seconds <= 0) {
+            return null;
+        }
+        Duration ttl = Duration.ofSeconds(seconds);
+        return ttl.compareTo(routeMaxTtl) < 0 ? ttl : routeMaxTtl;
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("memorix.gateway.response-cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Set<String> directives(HttpHeaders headers) {
+        return headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+                .filter(directive -> !directive.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private static Long seconds(Set<String> directives, String prefix) {
+        return directives.stream()
+                .filter(directive -> directive.startsWith(prefix))
+                .map(directive -> directive.substring(prefix.length()).replace("\"", ""))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .filter(value -> value != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String uri(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return query != null ? request.getPath().value() + "?" + query : request.getPath().value();
+    }
+
+    private static String variantKey(String uri, List<String> vary, HttpHeaders requestHeaders) {
+        if (vary.isEmpty()) {
+            return uri;
+        }
+        return uri + vary.stream()
+                .map(name -> name + "=" + String.join(",", requestHeaders.getOrEmpty(name)))
+                .collect(Collectors.joining("\n", "\n", ""));
+    }
+
+    private static String indexKey(String path, String variantKey) {
+        return path + " " + variantKey;
+    }
+
+    private static String normalize(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private record CachedResponse(String path, HttpHeaders headers, byte[] body, Instant storedAt, Duration ttl) {
+    }
+
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String uri;
+        private final Duration routeMaxTtl;
+
+        private CachingResponse(ServerHttpResponse delegate, ServerHttpRequest request, String uri,
+                Duration routeMaxTtl) {
+            super(delegate);
+            this.request = request;
+            this.uri = uri;
+            this.routeMaxTtl = routeMaxTtl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Duration ttl = cacheableFor(getDelegate(), routeMaxTtl);
+            if (ttl == null) {
+                return super.writeWith(body);
+            }
+            List<String> vary = new ArrayList<>(getHeaders().getVary().stream()
+                    .filter(name -> !name.toLowerCase(Locale.ROOT).startsWith("access-control-")
+                            && !name.equalsIgnoreCase(HttpHeaders.ORIGIN))
+                    .toList());
+            // The services compress without announcing it in Vary, so a compressed body must never
+            // be served to a client that did not ask for that encoding
+            if (vary.stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+                vary.add(HttpHeaders.ACCEPT_ENCODING);
+                getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            getHeaders().set(X_CACHE, "MISS");
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            boolean[] overflowed = { false };
+            Flux<? extends DataBuffer> copied = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (overflowed[0]) {
+                            return;
+                        }
+                        if (captured.size() + buffer.readableByteCount() > maxEntrySize) {
+                            overflowed[0] = true;
+                            return;
+                        }
+                        int position = buffer.readPosition();
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        buffer.readPosition(position);
+                        captured.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (!overflowed[0]) {
+                            store(uri, request, getHeaders(), vary, captured.toByteArray(), ttl);
+                        }
+                    });
+            return super.writeWith(copied);
+        }
+
+    }
+
+    public static class Config {
+
+        private Duration maxTtl;
+
+        public Duration getMaxTtl() {
+            return maxTtl;
+        }
+
+        public void setMaxTtl(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+    }
+
+}
@@ -0,0 +1,135 @@
+package io.github.andrehsvictor.memorix.apigateway.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory token bucket per route and client, for use with the {@code RequestRateLimiter}
+ * filter. Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again (GCRA), so admission is one lock-free compare-and-set. Routes can override the defaults
+ * with {@code local-rate-limiter.*} filter arguments.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Config defaultConfig;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalRateLimiter(
+            ConfigurationService configurationService,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.gateway.rate-limit.replenish-rate:50}") int replenishRate,
+            @Value("${memorix.gateway.rate-limit.burst-capacity:100}") int burstCapacity,
+            @Value("${memorix.gateway.rate-limit.maximum-keys:100000}") long maximumKeys,
+            @Value("${memorix.gateway.rate-limit.idle-expiry:10m}") Duration idleExpiry) {
+        this(configurationService, meterRegistry, new Config(replenishRate, burstCapacity), maximumKeys, idleExpiry,
+                System::nanoTime);
+    }
+
+    LocalRateLimiter(ConfigurationService configurationService, MeterRegistry meterRegistry, Config defaultConfig,
+            long maximumKeys, Duration idleExpiry, LongSupplier nanoClock) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.defaultConfig = defaultConfig;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        double interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long capacity = (long) (interval * config.getBurstCapacity());
+        long cost = (long) (interval * config.getRequestedTokens());
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = buckets.get(routeId + "\n" + id, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long next = base + cost;
+            if (next - now > capacity) {
+                return Mono.just(response(routeId, config, false, (long) ((capacity - (base - now)) / interval)));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Mono.just(response(routeId, config, true, (long) ((capacity - (next - now)) / interval)));
+            }
+        }
+    }
+
+    private Response response(String routeId, Config config, boolean allowed, long remaining) {
+        meterRegistry.counter("memorix.gateway.rate-limit.requests",
+                "route", routeId, "result", allowed ? "admitted" : "rejected").increment();
+        return new Response(allowed, Map.of(
+                REMAINING_HEADER, Long.toString(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity())));
+    }
+
+    public static class Config {
+
+        private int replenishRate;
+        private int burstCapacity;
+        private int requestedTokens = 1;
+
+        public Config() {
+        }
+
+        public Config(int replenishRate, int burstCapacity) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package io.github.andrehsvictor.memorix.apigateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Drives the rate limiter and the load shedder through real routes pointing at a local stub
+ * upstream, whose {@code /slow} path answers after half a second.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AdmissionControlTests {
+
+    private static final DisposableServer upstream = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> response.sendString(request.uri().endsWith("/slow")
+                    ? Mono.delay(Duration.ofMillis(500)).thenReturn("slow")
+                    : Mono.just("fast")))
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        String uri = "http://localhost:" + upstream.port();
+        registry.add("eureka.client.enabled", () -> false);
+        registry.add("memorix.gateway.rate-limit.replenish-rate", () -> 1);
+        registry.add("memorix.gateway.rate-limit.burst-capacity", () -> 20);
+        registry.add("memorix.gateway.load-shedding.initial-limit", () -> 2);
+        registry.add("memorix.gateway.load-shedding.min-limit", () -> 1);
+        registry.add("memorix.gateway.load-shedding.max-limit", () -> 2);
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "limited");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> uri);
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/limited/**");
+        registry.add("spring.cloud.gateway.routes[1].id", () -> "shedding");
+        registry.add("spring.cloud.gateway.routes[1].uri", () -> uri);
+        registry.add("spring.cloud.gateway.routes[1].predicates[0]", () -> "Path=/shedding/**");
+        registry.add("spring.cloud.gateway.routes[1].filters[0]", () -> "LoadShedding");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @Test
+    void rejectsClientsThatExceedTheBurstWith429() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        List<ResponseEntity<Void>> responses = Flux.range(0, 30)
+                .concatMap(i -> client.get().uri("/limited/fast").retrieve().toBodilessEntity()
+                        .onErrorResume(WebClientResponseException.class,
+                                e -> Mono.just(ResponseEntity.status(e.getStatusCode()).build())))
+                .collectList()
+                .block();
+
+        Map<Integer, Long> statuses = countStatuses(responses);
+        // The bucket refills one token per second, so a slow first request may admit a few more.
+        assertTrue(statuses.get(200) >= 20 && statuses.get(200) <= 25, statuses.toString());
+        assertEquals(30 - statuses.get(200), statuses.get(429));
+        assertEquals(statuses.get(429).doubleValue(), meterRegistry.counter("memorix.gateway.rate-limit.requests",
+                "route", "limited", "result", "rejected").count());
+    }
+
+    @Test
+    void shedsRequestsBeyondTheConcurrencyLimitWith503() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        long started = System.nanoTime();
+        List<ResponseEntity<Void>> responses = Flux.range(0, 10)
+                .flatMap(i -> client.get().uri("/shedding/slow").exchangeToMono(response -> {
+                    if (response.statusCode().value() == 503) {
+                        assertEquals("1", response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                        assertTrue(System.nanoTime() - started < Duration.ofMillis(500).toNanos(),
+                                "shed requests must not wait for the upstream");
+                    }
+                    return response.toBodilessEntity();
+                }), 10)
+                .collectList()
+                .block();
+
+        Map<Integer, Long> statuses = countStatuses(responses);
+        assertEquals(2, statuses.get(200));
+        assertEquals(8, statuses.get(503));
+        assertEquals(8, meterRegistry.counter("memorix.gateway.load-shedding.requests",
+                "route", "shedding", "result", "shed").count());
+    }
+
+    private static Map<Integer, Long> countStatuses(List<ResponseEntity<Void>> responses) {
+        return responses.stream()
+                .map(response -> response.getStatusCode().value())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+}
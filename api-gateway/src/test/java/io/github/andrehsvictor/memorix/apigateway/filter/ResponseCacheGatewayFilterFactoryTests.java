@@ -0,0 +1,93 @@
+package io.github.andrehsvictor.memorix.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilter filter = new ResponseCacheGatewayFilterFactory(meterRegistry, 100,
+            DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofSeconds(30))
+            .apply(new ResponseCacheGatewayFilterFactory.Config());
+    private final GatewayFilterChain upstream = exchange -> {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setCacheControl("max-age=0, s-maxage=60");
+        return response.writeWith(Mono.just(response.bufferFactory()
+                .wrap(exchange.getRequest().getPath().value().getBytes(StandardCharsets.UTF_8))));
+    };
+
+    @Test
+    void writeEvictsTheResourceItsSubResourcesAndTheCollectionsAboveIt() {
+        for (String path : new String[] { "/decks", "/decks/1", "/decks/1/cards", "/decks/10", "/cards" }) {
+            assertEquals("MISS", get(path));
+        }
+
+        send(HttpMethod.PUT, "/decks/1");
+
+        assertEquals(3.0, meterRegistry.get("memorix.gateway.response-cache.invalidations").counter().count());
+        assertEquals("MISS", get("/decks"));
+        assertEquals("MISS", get("/decks/1"));
+        assertEquals("MISS", get("/decks/1/cards"));
+        assertEquals("HIT", get("/decks/10"));
+        assertEquals("HIT", get("/cards"));
+    }
+
+    @Test
+    void compressedResponseIsNotServedToClientsThatDidNotAcceptIt() {
+        GatewayFilterChain compressing = exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl("max-age=0, s-maxage=60");
+            String body = "plain";
+            if (exchange.getRequest().getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING).contains("gzip")) {
+                response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = "gzipped";
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        MockServerWebExchange gzip = send(MockServerHttpRequest.get("/cards/1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"), compressing);
+        assertEquals("gzipped", gzip.getResponse().getBodyAsString().block());
+        MockServerWebExchange plain = send(MockServerHttpRequest.get("/cards/1"), compressing);
+
+        assertEquals("MISS", plain.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("plain", plain.getResponse().getBodyAsString().block());
+        assertNull(plain.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private String get(String path) {
+        MockServerWebExchange exchange = send(HttpMethod.GET, path);
+        exchange.getResponse().getBodyAsString().block();
+        return exchange.getResponse().getHeaders().getFirst("X-Cache");
+    }
+
+    private MockServerWebExchange send(HttpMethod method, String path) {
+        return send(MockServerHttpRequest.method(method, path).header(HttpHeaders.ACCEPT, "application/json"), upstream);
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.github.andrehsvictor.memorix.apigateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalRateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now = 1_000_000_000L;
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter(null, meterRegistry,
+            new LocalRateLimiter.Config(10, 5), 1000, Duration.ofMinutes(10), () -> now);
+
+    @Test
+    void admitsTheBurstThenRejects() {
+        for (int i = 4; i >= 0; i--) {
+            var response = rateLimiter.isAllowed("deck-service", "10.0.0.1").block();
+            assertTrue(response.isAllowed());
+            assertEquals(Integer.toString(i), response.getHeaders().get(LocalRateLimiter.REMAINING_HEADER));
+        }
+        assertFalse(rateLimiter.isAllowed("deck-service", "10.0.0.1").block().isAllowed());
+        assertEquals(5, meterRegistry.counter("memorix.gateway.rate-limit.requests",
+                "route", "deck-service", "result", "admitted").count());
+        assertEquals(1, meterRegistry.counter("memorix.gateway.rate-limit.requests",
+                "route", "deck-service", "result", "rejected").count());
+    }
+
+    @Test
+    void refillsAtTheReplenishRate() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.isAllowed("deck-service", "10.0.0.1").block();
+        }
+        now += 100_000_000L;
+        assertTrue(rateLimiter.isAllowed("deck-service", "10.0.0.1").block().isAllowed());
+        assertFalse(rateLimiter.isAllowed("deck-service", "10.0.0.1").block().isAllowed());
+        now += 10_000_000_000L;
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.isAllowed("deck-service", "10.0.0.1").block().isAllowed());
+        }
+        assertFalse(rateLimiter.isAllowed("deck-service", "10.0.0.1").block().isAllowed());
+    }
+
+    @Test
+    void keepsSeparateBucketsPerRouteAndClient() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.isAllowed("deck-service", "10.0.0.1").block();
+        }
+        assertFalse(rateLimiter.isAllowed("deck-service", "10.0.0.1").block().isAllowed());
+        assertTrue(rateLimiter.isAllowed("deck-service", "10.0.0.2").block().isAllowed());
+        assertTrue(rateLimiter.isAllowed("card-service", "10.0.0.1").block().isAllowed());
+    }
+
+}
@@ -0,0 +1,30 @@
+package io.github.andrehsvictor.memorix.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs JMH with its usual command line, but writes results as JSON to jmh-result.json unless
+ * -rf or -rff say otherwise, so every run leaves a file that can be compared with the last
+ * release's.
+ */
+public class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT_FORMAT = "json";
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(0, List.of("-rf", DEFAULT_RESULT_FORMAT));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(0, List.of("-rff", DEFAULT_RESULT_FILE));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+
+}
@@ -0,0 +1,112 @@
+package io.github.andrehsvictor.memorix.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import io.github.andrehsvictor.memorix.cardservice.event.CardCreatedEvent;
+import io.github.andrehsvictor.memorix.deckservice.event.DeckDeletedEvent;
+
+/**
+ * Converts events the way the services' RabbitTemplates and listeners do. Messages are read
+ * into the consumer's own event class, inferred from the listener argument, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventConversionBenchmarks {
+
+    private static final int DECK_IDS_PER_EVENT = 500;
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+
+    private CardCreatedEvent cardCreatedEvent;
+    private DeckDeletedEvent deckDeletedEvent;
+    private DeckDeletedEvent batchDeckDeletedEvent;
+    private Message cardCreatedMessage;
+    private Message deckDeletedMessage;
+    private Message batchDeckDeletedMessage;
+
+    @Setup
+    public void setUp() {
+        cardCreatedEvent = CardCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .cardId(UUID.randomUUID().toString())
+                .deckId(UUID.randomUUID().toString())
+                .count(1)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        deckDeletedEvent = DeckDeletedEvent.builder()
+                .deckId(UUID.randomUUID().toString())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        List<String> deckIds = IntStream.range(0, DECK_IDS_PER_EVENT)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        batchDeckDeletedEvent = DeckDeletedEvent.builder()
+                .deckIds(deckIds)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        cardCreatedMessage = received(converter.toMessage(cardCreatedEvent, new MessageProperties()),
+                io.github.andrehsvictor.memorix.deckservice.event.CardCreatedEvent.class);
+        deckDeletedMessage = received(converter.toMessage(deckDeletedEvent, new MessageProperties()),
+                io.github.andrehsvictor.memorix.cardservice.event.DeckDeletedEvent.class);
+        batchDeckDeletedMessage = received(converter.toMessage(batchDeckDeletedEvent, new MessageProperties()),
+                io.github.andrehsvictor.memorix.cardservice.event.DeckDeletedEvent.class);
+    }
+
+    @Benchmark
+    public Message writeCardCreatedEvent() {
+        return converter.toMessage(cardCreatedEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object readCardCreatedEvent() {
+        return converter.fromMessage(cardCreatedMessage);
+    }
+
+    @Benchmark
+    public Message writeDeckDeletedEvent() {
+        return converter.toMessage(deckDeletedEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object readDeckDeletedEvent() {
+        return converter.fromMessage(deckDeletedMessage);
+    }
+
+    @Benchmark
+    public Message writeBatchDeckDeletedEvent() {
+        return converter.toMessage(batchDeckDeletedEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object readBatchDeckDeletedEvent() {
+        return converter.fromMessage(batchDeckDeletedMessage);
+    }
+
+    private static Message received(Message sent, Class<?> listenerArgumentType) {
+        MessageProperties properties = sent.getMessageProperties();
+        properties.setInferredArgumentType(listenerArgumentType);
+        return new Message(sent.getBody(), properties);
+    }
+
+}
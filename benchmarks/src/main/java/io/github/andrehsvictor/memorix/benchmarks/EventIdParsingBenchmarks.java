@@ -0,0 +1,83 @@
+package io.github.andrehsvictor.memorix.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.andrehsvictor.memorix.cardservice.event.DeckDeletedEvent;
+import io.github.andrehsvictor.memorix.cardservice.service.CardEventConsumer;
+import io.github.andrehsvictor.memorix.deckservice.event.CardCreatedEvent;
+import io.github.andrehsvictor.memorix.deckservice.event.CardsCountDelta;
+import io.github.andrehsvictor.memorix.deckservice.service.DeckEventConsumer;
+
+/**
+ * Parses the string IDs carried by events into UUIDs with the consumers' own static helpers,
+ * {@link DeckEventConsumer#toCardsCountDelta} and {@link CardEventConsumer#toDeckIds}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventIdParsingBenchmarks {
+
+    /**
+     * Matches the default memorix.card-events.batch-size and the deck IDs per deck.deleted event.
+     */
+    @Param({ "1", "500" })
+    private int batchSize;
+
+    private List<CardCreatedEvent> cardCreatedEvents;
+    private DeckDeletedEvent deckDeletedEvent;
+
+    @Setup
+    public void setUp() {
+        List<String> deckIds = IntStream.range(0, batchSize)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        cardCreatedEvents = deckIds.stream()
+                .map(deckId -> CardCreatedEvent.builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .cardId(UUID.randomUUID().toString())
+                        .deckId(deckId)
+                        .count(1)
+                        .timestamp(System.currentTimeMillis())
+                        .build())
+                .toList();
+        deckDeletedEvent = DeckDeletedEvent.builder()
+                .deckIds(deckIds)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    @Benchmark
+    public List<CardsCountDelta> cardCreatedEventsToDeltas() {
+        List<CardsCountDelta> deltas = new ArrayList<>(cardCreatedEvents.size());
+        for (CardCreatedEvent event : cardCreatedEvents) {
+            deltas.add(DeckEventConsumer.toCardsCountDelta(event.getEventId(), event.getDeckId(),
+                    event.getCount() != null ? event.getCount() : 1));
+        }
+        return deltas;
+    }
+
+    @Benchmark
+    public List<UUID> deckDeletedEventToDeckIds() {
+        return CardEventConsumer.toDeckIds(deckDeletedEvent);
+    }
+
+}
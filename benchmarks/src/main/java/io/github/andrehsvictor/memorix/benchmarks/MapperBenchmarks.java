@@ -0,0 +1,150 @@
+package io.github.andrehsvictor.memorix.benchmarks;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.PutCardDto;
+import io.github.andrehsvictor.memorix.cardservice.event.DeckUpdatedEvent;
+import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapper;
+import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapperImpl;
+import io.github.andrehsvictor.memorix.cardservice.model.Card;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.PostDeckDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.PutDeckDto;
+import io.github.andrehsvictor.memorix.deckservice.mapper.DeckMapper;
+import io.github.andrehsvictor.memorix.deckservice.mapper.DeckMapperImpl;
+import io.github.andrehsvictor.memorix.deckservice.model.Deck;
+
+/**
+ * Runs the MapStruct mappers on every request and on every deck.updated event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmarks {
+
+    private final CardMapper cardMapper = new CardMapperImpl();
+    private final DeckMapper deckMapper = new DeckMapperImpl();
+
+    private PostCardDto postCardDto;
+    private PutCardDto putCardDto;
+    private Card syncedCard;
+    private Card unsyncedCard;
+    private io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto deckSummaryDto;
+    private DeckUpdatedEvent deckUpdatedEvent;
+    private PostDeckDto postDeckDto;
+    private PutDeckDto putDeckDto;
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        postCardDto = PostCardDto.builder()
+                .question("What is the capital of Australia?")
+                .answer("Canberra")
+                .build();
+        putCardDto = PutCardDto.builder()
+                .question("What is the capital of New Zealand?")
+                .answer("Wellington")
+                .build();
+        deckSummaryDto = io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto.builder()
+                .id(UUID.randomUUID())
+                .name("Geography")
+                .coverImageUrl("https://example.com/cover.png")
+                .hexColor("#3366FF")
+                .cardsCount(250)
+                .updatedAt(Instant.now())
+                .build();
+        unsyncedCard = cardMapper.postCardDtoToCard(postCardDto);
+        unsyncedCard.setDeckId(deckSummaryDto.getId());
+        syncedCard = cardMapper.postCardDtoToCard(postCardDto);
+        cardMapper.updateCardFromDeckSummaryDto(deckSummaryDto, syncedCard);
+        deckUpdatedEvent = DeckUpdatedEvent.builder()
+                .deckId(deckSummaryDto.getId().toString())
+                .name("Geography")
+                .coverImageUrl("https://example.com/cover.png")
+                .hexColor("#3366FF")
+                .cardsCount(251)
+                .updatedAt(Instant.now())
+                .build();
+        postDeckDto = PostDeckDto.builder()
+                .name("Geography")
+                .description("Capitals, rivers and mountains")
+                .coverImageUrl("https://example.com/cover.png")
+                .hexColor("#3366FF")
+                .build();
+        putDeckDto = PutDeckDto.builder()
+                .name("World geography")
+                .description("Capitals, rivers, mountains and seas")
+                .coverImageUrl("https://example.com/cover.png")
+                .hexColor("#FF6633")
+                .build();
+        deck = deckMapper.postDeckDtoToDeck(postDeckDto);
+        deck.setId(UUID.randomUUID());
+        deck.setCreatedAt(Instant.now());
+        deck.setUpdatedAt(Instant.now());
+    }
+
+    @Benchmark
+    public Card postCardDtoToCard() {
+        return cardMapper.postCardDtoToCard(postCardDto);
+    }
+
+    @Benchmark
+    public Card updateCardFromPutCardDto() {
+        return cardMapper.updateCardFromPutCardDto(putCardDto, syncedCard);
+    }
+
+    @Benchmark
+    public CardWithDeckDto syncedCardToCardWithDeckDto() {
+        return cardMapper.cardToCardWithDeckDto(syncedCard);
+    }
+
+    @Benchmark
+    public CardWithDeckDto unsyncedCardToCardWithDeckDto() {
+        return cardMapper.cardToCardWithDeckDto(unsyncedCard);
+    }
+
+    @Benchmark
+    public Card updateCardFromDeckSummaryDto() {
+        cardMapper.updateCardFromDeckSummaryDto(deckSummaryDto, syncedCard);
+        return syncedCard;
+    }
+
+    @Benchmark
+    public io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto deckUpdatedEventToDeckSummaryDto() {
+        return cardMapper.deckUpdatedEventToDeckSummaryDto(deckUpdatedEvent);
+    }
+
+    @Benchmark
+    public Deck postDeckDtoToDeck() {
+        return deckMapper.postDeckDtoToDeck(postDeckDto);
+    }
+
+    @Benchmark
+    public Deck updateDeckFromPutDeckDto() {
+        return deckMapper.updateDeckFromPutDeckDto(deck, putDeckDto);
+    }
+
+    @Benchmark
+    public DeckSummaryDto deckToDeckSummaryDto() {
+        return deckMapper.deckToDeckSummaryDto(deck);
+    }
+
+}
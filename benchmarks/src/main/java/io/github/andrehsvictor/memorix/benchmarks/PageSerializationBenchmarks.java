@@ -0,0 +1,112 @@
+package io.github.andrehsvictor.memorix.benchmarks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapper;
+import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapperImpl;
+import io.github.andrehsvictor.memorix.cardservice.model.Card;
+import io.github.andrehsvictor.memorix.deckservice.model.Deck;
+
+/**
+ * Writes the list responses the controllers return, with an ObjectMapper configured like the
+ * one Spring Boot gives the services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmarks {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private Page<Card> cards;
+    private Page<CardWithDeckDto> cardsWithDeck;
+    private Page<Deck> decks;
+
+    @Setup
+    public void setUp() {
+        CardMapper cardMapper = new CardMapperImpl();
+        DeckSummaryDto deck = DeckSummaryDto.builder()
+                .id(UUID.randomUUID())
+                .name("Geography")
+                .coverImageUrl("https://example.com/cover.png")
+                .hexColor("#3366FF")
+                .cardsCount(250)
+                .updatedAt(Instant.now())
+                .build();
+        List<Card> cardList = IntStream.range(0, pageSize)
+                .mapToObj(i -> {
+                    Card card = new Card();
+                    card.setQuestion("What is the capital of country number " + i + "?");
+                    card.setAnswer("The capital of country number " + i);
+                    cardMapper.updateCardFromDeckSummaryDto(deck, card);
+                    return card;
+                })
+                .toList();
+        List<Deck> deckList = IntStream.range(0, pageSize)
+                .mapToObj(i -> Deck.builder()
+                        .id(UUID.randomUUID())
+                        .name("Deck " + i)
+                        .description("Cards about topic number " + i)
+                        .coverImageUrl("https://example.com/covers/" + i + ".png")
+                        .hexColor("#3366FF")
+                        .cardsCount(i * 10)
+                        .createdAt(Instant.now())
+                        .updatedAt(Instant.now())
+                        .build())
+                .toList();
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        cards = new PageImpl<>(cardList, pageable, pageSize * 10L);
+        cardsWithDeck = cards.map(cardMapper::cardToCardWithDeckDto);
+        decks = new PageImpl<>(deckList, pageable, pageSize * 10L);
+    }
+
+    @Benchmark
+    public byte[] writeCardsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cards);
+    }
+
+    @Benchmark
+    public byte[] writeCardsWithDeckPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cardsWithDeck);
+    }
+
+    @Benchmark
+    public byte[] writeDecksPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(decks);
+    }
+
+}
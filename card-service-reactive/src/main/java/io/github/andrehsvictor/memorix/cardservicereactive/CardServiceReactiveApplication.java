@@ -0,0 +1,15 @@
+package io.github.andrehsvictor.memorix.cardservicereactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@SpringBootApplication
+public class CardServiceReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(CardServiceReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,68 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes card events. The shared deck event queues are consumed by card-service; this variant
+ * only gets its own copy of deck.deleted and deck.updated per instance for its deck cache.
+ */
+@EnableRabbit
+@Configuration
+public class RabbitConfig {
+
+    @Bean
+    Queue deckDeletedCacheQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("card-service-reactive.deck-cache.deleted."));
+    }
+
+    @Bean
+    Queue deckUpdatedCacheQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("card-service-reactive.deck-cache.updated."));
+    }
+
+    @Bean
+    Exchange deckExchange() {
+        return ExchangeBuilder.directExchange("deck.exchange").durable(true).build();
+    }
+
+    @Bean
+    Exchange cardExchange() {
+        return ExchangeBuilder.directExchange("card.exchange").durable(true).build();
+    }
+
+    @Bean
+    Binding bindingDeckDeletedCache(Queue deckDeletedCacheQueue, Exchange deckExchange) {
+        return BindingBuilder.bind(deckDeletedCacheQueue).to(deckExchange).with("deck.deleted").noargs();
+    }
+
+    @Bean
+    Binding bindingDeckUpdatedCache(Queue deckUpdatedCacheQueue, Exchange deckExchange) {
+        return BindingBuilder.bind(deckUpdatedCacheQueue).to(deckExchange).with("deck.updated").noargs();
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(jsonMessageConverter());
+        template.setMandatory(true);
+        return template;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.http.CacheControl;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+
+    private static final PathPattern API_PATTERN = PathPatternParser.defaultInstance.parse("/api/v2/**");
+
+    @Value("${memorix.http.shared-max-age:5s}")
+    private Duration sharedMaxAge;
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    @Bean
+    WebFilter cacheControlFilter() {
+        // Browsers revalidate every time; the gateway cache may serve a response for up to s-maxage.
+        String cacheControl = CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge).getHeaderValue();
+        return (exchange, chain) -> {
+            if (API_PATTERN.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+                exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+}
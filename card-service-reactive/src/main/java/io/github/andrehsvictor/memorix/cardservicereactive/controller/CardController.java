@@ -0,0 +1,243 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.controller;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CardSearchResultDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CursorPageDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PostCardsDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PutCardDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.model.Card;
+import io.github.andrehsvictor.memorix.cardservicereactive.service.CardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as card-service's controller, except for file imports, which stay there. Search,
+ * export and the internal card counts are written element by element as they arrive from MongoDB.
+ * Paged and cursor listings keep the {@link Page} and {@link CursorPageDto} bodies, so they are
+ * collected and serialized as one response; pages are bounded, so only the I/O is non-blocking.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Card API", description = "Operations related to card management")
+public class CardController {
+
+    private final CardService cardService;
+
+    @Operation(summary = "Get all cards", description = "Retrieve a paginated list of all cards with deck information")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag")
+    })
+    @GetMapping("/api/v2/cards")
+    public Mono<Page<CardWithDeckDto>> getAll(
+            @Parameter(description = "Pagination information") Pageable pageable,
+            @Parameter(hidden = true) ServerWebExchange exchange) {
+        return cardService.getAllVersions(pageable)
+                .filter(versions -> !exchange.checkNotModified(pageETag(versions)))
+                .flatMap(versions -> cardService.getAll(pageable));
+    }
+
+    @Operation(summary = "Get all cards by cursor", description = "Retrieve cards ordered by creation date using an opaque continuation token instead of page numbers; pass an empty cursor to get the first page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(value = "/api/v2/cards", params = "cursor")
+    public Mono<CursorPageDto<CardWithDeckDto>> getAllByCursor(
+            @Parameter(description = "Continuation token returned by the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of cards to return (1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Creation date ordering, only read on the first page") @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        return cardService.getAllByCursor(cursor, size, direction);
+    }
+
+    @Operation(summary = "Search cards", description = "Full-text search over card questions and answers, optionally scoped to one deck, ordered by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/cards/search")
+    public Flux<CardSearchResultDto> search(
+            @Parameter(description = "Search text", required = true, example = "photosynthesis") @RequestParam String q,
+            @Parameter(description = "Restrict results to this deck", example = "123e4567-e89b-12d3-a456-426614174000") @RequestParam(required = false) UUID deckId,
+            @Parameter(description = "Maximum number of results (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        return cardService.search(q, deckId, limit);
+    }
+
+    @Operation(summary = "Stream card counts per deck", description = "Stream the number of cards of every deck as newline-delimited JSON ordered by deck ID, used by deck-service to reconcile deck card counters. Internal: the gateway does not route /internal/**")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Card counts streamed successfully", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    @GetMapping(value = "/internal/v2/cards/counts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeckCardsCountDto> exportCardsCounts() {
+        return cardService.exportCardsCounts();
+    }
+
+    @Operation(summary = "Get card by ID", description = "Retrieve a specific card by its unique identifier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Card found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardWithDeckDto.class))),
+            @ApiResponse(responseCode = "304", description = "Card not modified since the given ETag or date"),
+            @ApiResponse(responseCode = "404", description = "Card not found", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/cards/{id}")
+    public Mono<CardWithDeckDto> getById(
+            @Parameter(description = "Card unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
+            @Parameter(hidden = true) ServerWebExchange exchange) {
+        return cardService.getVersionById(id)
+                .filter(version -> !exchange.checkNotModified(ETags.of(cardVersion(version)), lastModified(version)))
+                .flatMap(version -> cardService.getById(id));
+    }
+
+    @Operation(summary = "Get cards by deck ID", description = "Retrieve a paginated list of cards belonging to a specific deck")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/decks/{deckId}/cards")
+    public Mono<Page<Card>> getAllByDeckId(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(description = "Pagination information") Pageable pageable,
+            @Parameter(hidden = true) ServerWebExchange exchange) {
+        return cardService.getAllVersionsByDeckId(deckId, pageable)
+                .filter(versions -> !exchange.checkNotModified(pageETag(versions)))
+                .flatMap(versions -> cardService.getAllByDeckId(deckId, pageable));
+    }
+
+    @Operation(summary = "Get cards by deck ID by cursor", description = "Retrieve the cards of a specific deck ordered by creation date using an opaque continuation token; pass an empty cursor to get the first page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(value = "/api/v2/decks/{deckId}/cards", params = "cursor")
+    public Mono<CursorPageDto<Card>> getAllByDeckIdByCursor(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(description = "Continuation token returned by the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of cards to return (1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Creation date ordering, only read on the first page") @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        return cardService.getAllByDeckIdByCursor(deckId, cursor, size, direction);
+    }
+
+    @Operation(summary = "Export cards by deck ID", description = "Stream every card of a specific deck as newline-delimited JSON, gzip-compressed when the client accepts it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards streamed successfully", content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/decks/{deckId}/cards/export")
+    public Mono<ResponseEntity<Flux<Card>>> exportAllByDeckId(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId) {
+        // Compression is left to the server, which gzips the stream as it is written.
+        return cardService.exportAllByDeckId(deckId)
+                .map(cards -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("deck-" + deckId + "-cards.ndjson")
+                                .build()
+                                .toString())
+                        .body(cards));
+    }
+
+    @Operation(summary = "Create new card", description = "Create a new card in a specific deck")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Card created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardWithDeckDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/api/v2/decks/{deckId}/cards")
+    public Mono<ResponseEntity<CardWithDeckDto>> create(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(description = "Card creation data", required = true) @Valid @RequestBody PostCardDto postCardDto) {
+        return cardService.create(deckId, postCardDto)
+                .map(createdCard -> ResponseEntity.created(URI.create("/api/v2/cards/" + createdCard.getId()))
+                        .body(createdCard));
+    }
+
+    @Operation(summary = "Create cards in batch", description = "Create many cards in a specific deck with a single bulk write")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Cards created successfully", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "409", description = "Cards were only partially created", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/api/v2/decks/{deckId}/cards/batch")
+    public Mono<ResponseEntity<List<CardWithDeckDto>>> createAll(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(description = "Cards creation data", required = true) @Valid @RequestBody PostCardsDto postCardsDto) {
+        return cardService.createAll(deckId, postCardsDto)
+                .map(createdCards -> ResponseEntity.status(HttpStatus.CREATED).body(createdCards));
+    }
+
+    @Operation(summary = "Update card", description = "Update an existing card with new information")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Card updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardWithDeckDto.class))),
+            @ApiResponse(responseCode = "404", description = "Card not found", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json"))
+    })
+    @PutMapping("/api/v2/cards/{id}")
+    public Mono<CardWithDeckDto> update(
+            @Parameter(description = "Card unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
+            @Parameter(description = "Card update data", required = true) @Valid @RequestBody PutCardDto putCardDto) {
+        return cardService.update(id, putCardDto);
+    }
+
+    @Operation(summary = "Delete card", description = "Delete a specific card by its unique identifier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Card deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Card not found", content = @Content(mediaType = "application/json"))
+    })
+    @DeleteMapping("/api/v2/cards/{id}")
+    public Mono<ResponseEntity<Void>> delete(
+            @Parameter(description = "Card unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id) {
+        return cardService.delete(id)
+                .thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+
+    private static String pageETag(Page<Card> versions) {
+        return ETags.of(versions.getTotalElements(), versions.getContent().stream()
+                .map(CardController::cardVersion)
+                .toList());
+    }
+
+    private static Instant lastModified(Card card) {
+        Instant deckSyncedAt = card.getDeckSyncedAt();
+        return deckSyncedAt != null && deckSyncedAt.isAfter(card.getUpdatedAt()) ? deckSyncedAt : card.getUpdatedAt();
+    }
+
+    private static String cardVersion(Card card) {
+        return card.getId() + "@" + card.getUpdatedAt() + "@" + card.getDeckSyncedAt();
+    }
+
+}
@@ -0,0 +1,13 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.dto;
+
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckCardsCountDto {
+    private UUID deckId;
+    private long count;
+}
@@ -0,0 +1,14 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckLookupDto {
+    private List<DeckSummaryDto> decks;
+    private List<UUID> missingIds;
+}
@@ -0,0 +1,13 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckLookupRequestDto {
+    private List<UUID> ids;
+}
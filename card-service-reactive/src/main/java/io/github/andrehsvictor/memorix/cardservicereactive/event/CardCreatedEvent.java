@@ -0,0 +1,14 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.event;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CardCreatedEvent {
+    private String eventId;
+    private String cardId;
+    private String deckId;
+    private Integer count;
+    private Long timestamp;
+}
@@ -0,0 +1,15 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.event;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CardDeletedEvent {
+
+    private String eventId;
+    private String cardId;
+    private String deckId;
+    private Long timestamp;
+
+}
@@ -0,0 +1,16 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.event;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckDeletedEvent {
+
+    private String deckId;
+    private List<String> deckIds;
+    private Long timestamp;
+
+}
@@ -0,0 +1,21 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.event;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckUpdatedEvent {
+
+    private String deckId;
+    private String name;
+    private String coverImageUrl;
+    private String hexColor;
+    private Integer cardsCount;
+    private Instant updatedAt;
+    private Long version;
+    private Long timestamp;
+
+}
@@ -0,0 +1,53 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.mapper;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PutCardDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.event.DeckUpdatedEvent;
+import io.github.andrehsvictor.memorix.cardservicereactive.model.Card;
+
+@Mapper(componentModel = "spring")
+public abstract class CardMapper {
+
+    public abstract Card postCardDtoToCard(PostCardDto postCardDto);
+
+    public abstract Card updateCardFromPutCardDto(PutCardDto putCardDto, @MappingTarget Card card);
+
+    @Mapping(target = "deck", source = "card")
+    public abstract CardWithDeckDto cardToCardWithDeckDto(Card card);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "deckId", source = "id")
+    @Mapping(target = "deckName", source = "name")
+    @Mapping(target = "deckCoverImageUrl", source = "coverImageUrl")
+    @Mapping(target = "deckHexColor", source = "hexColor")
+    @Mapping(target = "deckCardsCount", source = "cardsCount")
+    @Mapping(target = "deckSyncedAt", source = "updatedAt")
+    @Mapping(target = "deckVersion", source = "version")
+    public abstract void updateCardFromDeckSummaryDto(DeckSummaryDto deckSummaryDto, @MappingTarget Card card);
+
+    @Mapping(target = "id", expression = "java(java.util.UUID.fromString(deckUpdatedEvent.getDeckId()))")
+    public abstract DeckSummaryDto deckUpdatedEventToDeckSummaryDto(DeckUpdatedEvent deckUpdatedEvent);
+
+    protected DeckSummaryDto cardToDeckSummaryDto(Card card) {
+        if (card.getDeckSyncedAt() == null) {
+            return null;
+        }
+        return DeckSummaryDto.builder()
+                .id(card.getDeckId())
+                .name(card.getDeckName())
+                .coverImageUrl(card.getDeckCoverImageUrl())
+                .hexColor(card.getDeckHexColor())
+                .cardsCount(card.getDeckCardsCount())
+                .updatedAt(card.getDeckSyncedAt())
+                .version(card.getDeckVersion())
+                .build();
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Document(collection = "cards")
+@CompoundIndex(name = "created_at_id", def = "{'createdAt': 1, '_id': 1}")
+@CompoundIndex(name = "deck_id_created_at_id", def = "{'deckId': 1, 'createdAt': 1, '_id': 1}")
+public class Card implements Serializable {
+
+    private static final long serialVersionUID = 5223837872883376581L;
+
+    @Id
+    private UUID id = UUID.randomUUID();
+
+    @TextIndexed(weight = 2)
+    private String question;
+
+    @TextIndexed
+    private String answer;
+
+    private UUID deckId;
+
+    private String deckName;
+    private String deckCoverImageUrl;
+    private String deckHexColor;
+    private Integer deckCardsCount;
+    private Instant deckSyncedAt;
+    private Long deckVersion;
+
+    private Instant createdAt = Instant.now();
+    private Instant updatedAt = Instant.now();
+
+}
@@ -0,0 +1,16 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.model.Card;
+import reactor.core.publisher.Flux;
+
+public interface CardRepository extends ReactiveMongoRepository<Card, UUID>, CardRepositoryCustom {
+
+    @Meta(cursorBatchSize = 500)
+    Flux<Card> streamAllByDeckId(UUID deckId);
+
+}
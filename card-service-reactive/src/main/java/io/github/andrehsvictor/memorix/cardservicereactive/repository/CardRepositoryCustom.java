@@ -0,0 +1,34 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.KeysetCursor;
+import io.github.andrehsvictor.memorix.cardservicereactive.model.Card;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CardRepositoryCustom {
+
+    Mono<Integer> insertAll(List<Card> cards);
+
+    Flux<CardSearchHit> search(String text, UUID deckId, Collection<UUID> excludedDeckIds, int limit);
+
+    Flux<Card> findAllByKeyset(UUID deckId, Collection<UUID> excludedDeckIds, KeysetCursor after,
+            Sort.Direction direction, int limit);
+
+    Mono<Card> findVersionById(UUID id);
+
+    Mono<Page<Card>> findAllVersions(UUID deckId, Collection<UUID> excludedDeckIds, Pageable pageable);
+
+    Mono<Page<Card>> findAll(UUID deckId, Collection<UUID> excludedDeckIds, Pageable pageable);
+
+    Flux<DeckCardsCountDto> streamCardsCountsByDeckId();
+
+}
@@ -0,0 +1,155 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import com.mongodb.MongoBulkWriteException;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.KeysetCursor;
+import io.github.andrehsvictor.memorix.cardservicereactive.model.Card;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CardRepositoryCustomImpl implements CardRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Integer> insertAll(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return Mono.just(0);
+        }
+        return mongoTemplate.bulkOps(BulkMode.UNORDERED, Card.class)
+                .insert(cards)
+                .execute()
+                .map(result -> result.getInsertedCount())
+                .onErrorMap(CardRepositoryCustomImpl::toBulkOperationException);
+    }
+
+    @Override
+    public Flux<CardSearchHit> search(String text, UUID deckId, Collection<UUID> excludedDeckIds, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+        if (deckId != null) {
+            query.addCriteria(Criteria.where("deckId").is(deckId));
+        } else if (!excludedDeckIds.isEmpty()) {
+            query.addCriteria(Criteria.where("deckId").nin(excludedDeckIds));
+        }
+        query.fields().include("question", "deckId");
+        return mongoTemplate.find(query, CardSearchHit.class, mongoTemplate.getCollectionName(Card.class));
+    }
+
+    @Override
+    public Flux<Card> findAllByKeyset(UUID deckId, Collection<UUID> excludedDeckIds, KeysetCursor after,
+            Sort.Direction direction, int limit) {
+        Criteria criteria = deckId != null ? Criteria.where("deckId").is(deckId) : excluding(excludedDeckIds);
+        if (after != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            Criteria id = Criteria.where("_id");
+            criteria.orOperator(
+                    direction.isAscending() ? createdAt.gt(after.createdAt()) : createdAt.lt(after.createdAt()),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(after.createdAt()),
+                            direction.isAscending() ? id.gt(after.id()) : id.lt(after.id())));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(direction, "createdAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Card.class);
+    }
+
+    @Override
+    public Mono<Card> findVersionById(UUID id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("deckId", "updatedAt", "deckSyncedAt");
+        return mongoTemplate.findOne(query, Card.class);
+    }
+
+    @Override
+    public Mono<Page<Card>> findAllVersions(UUID deckId, Collection<UUID> excludedDeckIds, Pageable pageable) {
+        Criteria criteria = deckId != null ? Criteria.where("deckId").is(deckId) : excluding(excludedDeckIds);
+        Query query = Query.query(criteria).with(pageable);
+        query.fields().include("updatedAt", "deckSyncedAt");
+        return page(query, pageable);
+    }
+
+    @Override
+    public Mono<Page<Card>> findAll(UUID deckId, Collection<UUID> excludedDeckIds, Pageable pageable) {
+        Criteria criteria = deckId != null ? Criteria.where("deckId").is(deckId) : excluding(excludedDeckIds);
+        return page(Query.query(criteria).with(pageable), pageable);
+    }
+
+    @Override
+    public Flux<DeckCardsCountDto> streamCardsCountsByDeckId() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.Direction.ASC, "deckId"),
+                Aggregation.project("deckId").andExclude("_id"),
+                Aggregation.group("deckId").count().as("count"),
+                Aggregation.sort(Sort.Direction.ASC, "_id"),
+                Aggregation.project("count").and("deckId").previousOperation())
+                .withOptions(AggregationOptions.builder()
+                        .allowDiskUse(true)
+                        .cursorBatchSize(1000)
+                        .build());
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Card.class),
+                DeckCardsCountDto.class);
+    }
+
+    /**
+     * Like {@code PageableExecutionUtils}, only counts when the page itself does not reveal the
+     * total, which saves the count on small decks and on the last page.
+     */
+    private Mono<Page<Card>> page(Query query, Pageable pageable) {
+        return mongoTemplate.find(query, Card.class).collectList().flatMap(cards -> {
+            if (pageable.isUnpaged()) {
+                return Mono.just(pageOf(cards, pageable, cards.size()));
+            }
+            if (cards.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !cards.isEmpty())) {
+                return Mono.just(pageOf(cards, pageable, pageable.getOffset() + cards.size()));
+            }
+            return mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Card.class)
+                    .map(total -> pageOf(cards, pageable, total));
+        });
+    }
+
+    private static Page<Card> pageOf(List<Card> cards, Pageable pageable, long total) {
+        return new PageImpl<>(cards, pageable, total);
+    }
+
+    /**
+     * Reports a partially applied bulk write the way the blocking template does, so callers can
+     * read how many documents made it.
+     */
+    private static Throwable toBulkOperationException(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException source) {
+                return new BulkOperationException(source.getMessage(), source);
+            }
+        }
+        return failure;
+    }
+
+    private static Criteria excluding(Collection<UUID> excludedDeckIds) {
+        return excludedDeckIds.isEmpty() ? new Criteria() : Criteria.where("deckId").nin(excludedDeckIds);
+    }
+
+}
@@ -0,0 +1,23 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CardSearchHit {
+
+    @Id
+    private UUID id;
+    private String question;
+    private UUID deckId;
+
+    @TextScore
+    private Float score;
+
+}
@@ -0,0 +1,224 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Queues events without blocking the caller and publishes them in batches with publisher
+ * confirms, like card-service's publisher. Confirms are awaited as futures, so a batch waiting
+ * on the broker holds no thread; only the channel writes run on one dedicated thread. Events
+ * that do not fit in the queue are dropped, since an event loop must not wait for room.
+ */
+@Slf4j
+@Component
+public class BatchingEventPublisher implements SmartLifecycle {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Sinks.Many<PendingEvent> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration confirmTimeout;
+    private final Timer confirmLatency;
+    private final Counter publishedCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Scheduler sender;
+    private CompletableFuture<Void> drained;
+
+    public BatchingEventPublisher(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.card-events.publisher.queue-capacity:10000}") int queueCapacity,
+            @Value("${memorix.card-events.publisher.batch-size:100}") int batchSize,
+            @Value("${memorix.card-events.publisher.flush-interval:10ms}") Duration flushInterval,
+            @Value("${memorix.card-events.publisher.max-attempts:3}") int maxAttempts,
+            @Value("${memorix.card-events.publisher.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${memorix.card-events.publisher.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.queue = Sinks.many().unicast().onBackpressureBuffer(Queues.<PendingEvent>get(queueCapacity).get());
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.confirmTimeout = confirmTimeout;
+        this.confirmLatency = Timer.builder("memorix.card-events.confirm.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishedCounter = meterRegistry.counter("memorix.card-events.publisher", "result", "published");
+        this.retriedCounter = meterRegistry.counter("memorix.card-events.publisher", "result", "retried");
+        this.droppedCounter = meterRegistry.counter("memorix.card-events.publisher", "result", "dropped");
+        meterRegistry.gauge("memorix.card-events.queue.depth", queue,
+                sink -> Scannable.from(sink).scanOrDefault(Scannable.Attr.BUFFERED, 0));
+    }
+
+    public void publish(String exchange, String routingKey, Object event) {
+        PendingEvent pendingEvent = new PendingEvent(exchange, routingKey, event);
+        while (true) {
+            switch (queue.tryEmitNext(pendingEvent)) {
+                case OK -> {
+                    return;
+                }
+                // Another thread is emitting at this very moment.
+                case FAIL_NON_SERIALIZED -> Thread.onSpinWait();
+                case FAIL_OVERFLOW -> {
+                    drop(pendingEvent, "publish queue is full");
+                    return;
+                }
+                default -> {
+                    drop(pendingEvent, "publisher is stopped");
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        sender = Schedulers.newSingle("card-event-publisher");
+        drained = queue.asFlux()
+                .bufferTimeout(batchSize, flushInterval, true)
+                .concatMap(this::send)
+                .then()
+                .toFuture();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        queue.tryEmitComplete();
+        try {
+            drained.get(confirmTimeout.multipliedBy(2).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Stopped card event publisher before all events were confirmed: {}", e.toString());
+        } finally {
+            sender.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Sends the batch and completes once every event is confirmed, retried or dropped.
+     */
+    private Mono<Void> send(List<PendingEvent> batch) {
+        return Mono.fromCallable(() -> write(batch))
+                .subscribeOn(sender)
+                .onErrorResume(e -> {
+                    log.warn("Could not send batch of {} card events: {}", batch.size(), e.getMessage());
+                    return Mono.just(List.of());
+                })
+                .flatMapMany(confirmations -> Flux.range(0, batch.size())
+                        .filterWhen(i -> i < confirmations.size()
+                                ? isConfirmed(confirmations.get(i)).map(confirmed -> !confirmed)
+                                : Mono.just(true))
+                        .map(batch::get))
+                .collectList()
+                .flatMap(this::retryOrDrop)
+                .onErrorResume(e -> {
+                    log.error("Unexpected failure while publishing card events", e);
+                    return Mono.empty();
+                });
+    }
+
+    private List<CorrelationData> write(List<PendingEvent> batch) {
+        List<CorrelationData> confirmations = new ArrayList<>(batch.size());
+        rabbitTemplate.invoke(operations -> {
+            for (PendingEvent pendingEvent : batch) {
+                CorrelationData correlationData = new CorrelationData();
+                long started = System.nanoTime();
+                correlationData.getFuture().whenComplete((confirm, error) -> confirmLatency
+                        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+                operations.convertAndSend(pendingEvent.exchange(), pendingEvent.routingKey(),
+                        pendingEvent.event(), correlationData);
+                confirmations.add(correlationData);
+            }
+            return null;
+        });
+        return confirmations;
+    }
+
+    private Mono<Boolean> isConfirmed(CorrelationData correlationData) {
+        return Mono.fromFuture(correlationData.getFuture(), true)
+                .timeout(confirmTimeout)
+                .map(confirm -> confirm.isAck() && correlationData.getReturned() == null)
+                .doOnNext(confirmed -> {
+                    if (confirmed) {
+                        publishedCounter.increment();
+                    }
+                })
+                .onErrorReturn(false);
+    }
+
+    private Mono<Void> retryOrDrop(List<PendingEvent> failed) {
+        List<PendingEvent> retries = new ArrayList<>();
+        for (PendingEvent pendingEvent : failed) {
+            if (pendingEvent.attempts() + 1 >= maxAttempts) {
+                drop(pendingEvent, "broker did not confirm after " + maxAttempts + " attempts");
+            } else {
+                retriedCounter.increment();
+                retries.add(pendingEvent.nextAttempt());
+            }
+        }
+        if (retries.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.delay(retryBackoff).then(Mono.defer(() -> send(retries)));
+    }
+
+    private void drop(PendingEvent pendingEvent, String reason) {
+        droppedCounter.increment();
+        log.error("Dropped {} for {}: {}", pendingEvent.event().getClass().getSimpleName(),
+                pendingEvent.routingKey(), reason);
+    }
+
+    private record PendingEvent(String exchange, String routingKey, Object event, int attempts) {
+
+        private PendingEvent(String exchange, String routingKey, Object event) {
+            this(exchange, routingKey, event, 0);
+        }
+
+        private PendingEvent nextAttempt() {
+            return new PendingEvent(exchange, routingKey, event, attempts + 1);
+        }
+
+    }
+
+}
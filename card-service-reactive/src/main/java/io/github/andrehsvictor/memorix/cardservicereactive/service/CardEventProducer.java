@@ -0,0 +1,54 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.event.CardCreatedEvent;
+import io.github.andrehsvictor.memorix.cardservicereactive.event.CardDeletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CardEventProducer {
+
+    private static final String CARD_EXCHANGE = "card.exchange";
+
+    private final BatchingEventPublisher batchingEventPublisher;
+
+    public void publishCardDeletedEvent(String cardId, String deckId) {
+        CardDeletedEvent event = CardDeletedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .cardId(cardId)
+                .deckId(deckId)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        batchingEventPublisher.publish(CARD_EXCHANGE, "card.deleted", event);
+        log.info("Queued CardDeletedEvent for card with ID {}", cardId);
+    }
+
+    public void publishCardCreatedEvent(String cardId, String deckId) {
+        CardCreatedEvent event = CardCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .cardId(cardId)
+                .deckId(deckId)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        batchingEventPublisher.publish(CARD_EXCHANGE, "card.created", event);
+        log.info("Queued CardCreatedEvent for card with ID {}", cardId);
+    }
+
+    public void publishCardsCreatedEvent(String deckId, int count) {
+        CardCreatedEvent event = CardCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .deckId(deckId)
+                .count(count)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        batchingEventPublisher.publish(CARD_EXCHANGE, "card.created", event);
+        log.info("Queued CardCreatedEvent for {} cards in deck with ID {}", count, deckId);
+    }
+
+}
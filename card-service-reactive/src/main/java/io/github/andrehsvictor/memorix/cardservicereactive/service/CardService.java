@@ -0,0 +1,257 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CardSearchResultDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.CursorPageDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.KeysetCursor;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PostCardsDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.PutCardDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.mapper.CardMapper;
+import io.github.andrehsvictor.memorix.cardservicereactive.model.Card;
+import io.github.andrehsvictor.memorix.cardservicereactive.repository.CardRepository;
+import io.github.andrehsvictor.memorix.cardservicereactive.repository.CardSearchHit;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class CardService {
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int QUESTION_SNIPPET_LENGTH = 120;
+
+    private final DeckExistenceCache deckExistenceCache;
+    private final DeckTombstones deckTombstones;
+    private final CardMapper cardMapper;
+    private final CardRepository cardRepository;
+    private final CardEventProducer cardEventPublisher;
+
+    public Mono<CardWithDeckDto> getById(UUID id) {
+        return getEntityById(id)
+                .flatMap(card -> withDecks(List.of(card)))
+                .map(cards -> cards.get(0));
+    }
+
+    public Mono<Page<CardWithDeckDto>> getAll(Pageable pageable) {
+        return cardRepository.findAll(null, deckTombstones.snapshot(), pageable)
+                .flatMap(cards -> findUnsyncedDecks(cards.getContent())
+                        .map(decks -> cards.map(card -> toCardWithDeckDto(card, decks))));
+    }
+
+    public Mono<Card> getVersionById(UUID id) {
+        return cardRepository.findVersionById(id)
+                .filter(card -> !deckTombstones.contains(card.getDeckId()))
+                .switchIfEmpty(cardNotFound(id));
+    }
+
+    public Mono<Page<Card>> getAllVersions(Pageable pageable) {
+        return cardRepository.findAllVersions(null, deckTombstones.snapshot(), pageable);
+    }
+
+    public Mono<Page<Card>> getAllVersionsByDeckId(UUID deckId, Pageable pageable) {
+        return deckExistsById(deckId)
+                .then(cardRepository.findAllVersions(deckId, Set.of(), pageable));
+    }
+
+    public Mono<Page<Card>> getAllByDeckId(UUID deckId, Pageable pageable) {
+        return deckExistsById(deckId)
+                .then(cardRepository.findAll(deckId, Set.of(), pageable));
+    }
+
+    public Mono<CursorPageDto<CardWithDeckDto>> getAllByCursor(String cursor, int size, Sort.Direction direction) {
+        return findAllByCursor(null, cursor, size, direction)
+                .flatMap(page -> withDecks(page.getContent())
+                        .map(cards -> CursorPageDto.<CardWithDeckDto>builder()
+                                .content(cards)
+                                .size(page.getSize())
+                                .hasNext(page.isHasNext())
+                                .nextCursor(page.getNextCursor())
+                                .build()));
+    }
+
+    public Mono<CursorPageDto<Card>> getAllByDeckIdByCursor(UUID deckId, String cursor, int size,
+            Sort.Direction direction) {
+        return deckExistsById(deckId)
+                .then(findAllByCursor(deckId, cursor, size, direction));
+    }
+
+    public Flux<CardSearchResultDto> search(String query, UUID deckId, int limit) {
+        if (query == null || query.isBlank()) {
+            return Flux.empty();
+        }
+        return cardRepository.search(query, deckId, deckTombstones.snapshot(), Math.clamp(limit, 1, MAX_SEARCH_RESULTS))
+                .map(this::toSearchResult);
+    }
+
+    /**
+     * Checks the deck before handing out the stream, so a missing deck is reported before any
+     * response header is written.
+     */
+    public Mono<Flux<Card>> exportAllByDeckId(UUID deckId) {
+        return deckExistsById(deckId)
+                .then(Mono.fromSupplier(() -> cardRepository.streamAllByDeckId(deckId)));
+    }
+
+    public Flux<DeckCardsCountDto> exportCardsCounts() {
+        return cardRepository.streamCardsCountsByDeckId();
+    }
+
+    public Mono<CardWithDeckDto> create(UUID deckId, PostCardDto postCardDto) {
+        return getDeckSummary(deckId)
+                .flatMap(deck -> {
+                    Card card = cardMapper.postCardDtoToCard(postCardDto);
+                    cardMapper.updateCardFromDeckSummaryDto(deck, card);
+                    return cardRepository.insert(card);
+                })
+                .doOnNext(savedCard -> cardEventPublisher.publishCardCreatedEvent(savedCard.getId().toString(),
+                        deckId.toString()))
+                .map(cardMapper::cardToCardWithDeckDto);
+    }
+
+    public Mono<List<CardWithDeckDto>> createAll(UUID deckId, PostCardsDto postCardsDto) {
+        return getDeckSummary(deckId)
+                .flatMap(deck -> {
+                    List<Card> cards = postCardsDto.getCards().stream()
+                            .map(cardMapper::postCardDtoToCard)
+                            .peek(card -> cardMapper.updateCardFromDeckSummaryDto(deck, card))
+                            .toList();
+                    return cardRepository.insertAll(cards)
+                            .doOnNext(inserted -> cardEventPublisher.publishCardsCreatedEvent(deckId.toString(),
+                                    inserted))
+                            .onErrorMap(BulkOperationException.class, e -> partiallyCreated(deckId, cards.size(), e))
+                            .thenReturn(cards);
+                })
+                .map(cards -> cards.stream()
+                        .map(cardMapper::cardToCardWithDeckDto)
+                        .toList());
+    }
+
+    public Mono<CardWithDeckDto> update(UUID id, PutCardDto putCardDto) {
+        return getEntityById(id)
+                .flatMap(existingCard -> {
+                    Card updatedCard = cardMapper.updateCardFromPutCardDto(putCardDto, existingCard);
+                    updatedCard.setUpdatedAt(Instant.now());
+                    return cardRepository.save(updatedCard);
+                })
+                .map(cardMapper::cardToCardWithDeckDto);
+    }
+
+    public Mono<Void> delete(UUID id) {
+        return getEntityById(id)
+                .flatMap(existingCard -> cardRepository.delete(existingCard)
+                        .doOnSuccess(deleted -> cardEventPublisher.publishCardDeletedEvent(
+                                existingCard.getId().toString(), existingCard.getDeckId().toString())));
+    }
+
+    private Mono<CursorPageDto<Card>> findAllByCursor(UUID deckId, String cursor, int size,
+            Sort.Direction direction) {
+        return Mono.defer(() -> {
+            int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+            KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            Sort.Direction order = after != null ? after.direction() : direction;
+            return cardRepository.findAllByKeyset(deckId, deckTombstones.snapshot(), after, order, limit + 1)
+                    .collectList()
+                    .map(cards -> {
+                        boolean hasNext = cards.size() > limit;
+                        List<Card> content = hasNext ? cards.subList(0, limit) : cards;
+                        Card last = content.isEmpty() ? null : content.get(content.size() - 1);
+                        return CursorPageDto.<Card>builder()
+                                .content(content)
+                                .size(limit)
+                                .hasNext(hasNext)
+                                .nextCursor(hasNext
+                                        ? new KeysetCursor(order, last.getCreatedAt(), last.getId()).encode()
+                                        : null)
+                                .build();
+                    });
+        });
+    }
+
+    private Mono<List<CardWithDeckDto>> withDecks(List<Card> cards) {
+        return findUnsyncedDecks(cards)
+                .map(decks -> cards.stream()
+                        .map(card -> toCardWithDeckDto(card, decks))
+                        .toList());
+    }
+
+    private Mono<Map<UUID, DeckSummaryDto>> findUnsyncedDecks(List<Card> cards) {
+        List<UUID> deckIds = cards.stream()
+                .filter(card -> card.getDeckSyncedAt() == null)
+                .map(Card::getDeckId)
+                .toList();
+        return deckIds.isEmpty() ? Mono.just(Map.of()) : deckExistenceCache.getAllByIds(deckIds);
+    }
+
+    private CardWithDeckDto toCardWithDeckDto(Card card, Map<UUID, DeckSummaryDto> decks) {
+        CardWithDeckDto cardWithDeckDto = cardMapper.cardToCardWithDeckDto(card);
+        if (cardWithDeckDto.getDeck() == null) {
+            cardWithDeckDto.setDeck(decks.get(card.getDeckId()));
+        }
+        return cardWithDeckDto;
+    }
+
+    private CardSearchResultDto toSearchResult(CardSearchHit hit) {
+        String question = hit.getQuestion();
+        String snippet = question != null && question.length() > QUESTION_SNIPPET_LENGTH
+                ? question.substring(0, QUESTION_SNIPPET_LENGTH) + "…"
+                : question;
+        return CardSearchResultDto.builder()
+                .id(hit.getId())
+                .questionSnippet(snippet)
+                .deckId(hit.getDeckId())
+                .score(hit.getScore())
+                .build();
+    }
+
+    private ResponseStatusException partiallyCreated(UUID deckId, int requested, BulkOperationException e) {
+        int inserted = e.getResult().getInsertedCount();
+        if (inserted > 0) {
+            cardEventPublisher.publishCardsCreatedEvent(deckId.toString(), inserted);
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "Only " + inserted + " of " + requested + " cards were created", e);
+    }
+
+    private Mono<Card> getEntityById(UUID id) {
+        return cardRepository.findById(id)
+                .filter(card -> !deckTombstones.contains(card.getDeckId()))
+                .switchIfEmpty(cardNotFound(id));
+    }
+
+    private Mono<DeckSummaryDto> getDeckSummary(UUID deckId) {
+        return deckExistenceCache.findById(deckId)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Deck not found with ID: " + deckId)));
+    }
+
+    private Mono<Void> deckExistsById(UUID deckId) {
+        return deckExistenceCache.existsById(deckId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found with ID: " + deckId)));
+    }
+
+    private static <T> Mono<T> cardNotFound(UUID id) {
+        return Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found with ID: " + id));
+    }
+
+}
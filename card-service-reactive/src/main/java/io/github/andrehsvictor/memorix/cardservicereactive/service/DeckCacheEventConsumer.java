@@ -0,0 +1,52 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.event.DeckDeletedEvent;
+import io.github.andrehsvictor.memorix.cardservicereactive.event.DeckUpdatedEvent;
+import io.github.andrehsvictor.memorix.cardservicereactive.mapper.CardMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps this instance's deck cache in line with deck events. Purging and syncing cards stays
+ * with card-service, which consumes the shared queues.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeckCacheEventConsumer {
+
+    private final DeckExistenceCache deckExistenceCache;
+    private final CardMapper cardMapper;
+
+    @RabbitListener(queues = { "#{deckDeletedCacheQueue.name}" })
+    public void evictDeletedDecks(DeckDeletedEvent event) {
+        try {
+            Stream.concat(
+                    Stream.ofNullable(event.getDeckId()),
+                    event.getDeckIds() == null ? Stream.empty() : event.getDeckIds().stream())
+                    .filter(Objects::nonNull)
+                    .map(UUID::fromString)
+                    .forEach(deckExistenceCache::evict);
+        } catch (RuntimeException e) {
+            // Per-instance queues have no dead-letter queue; card-service's listener reports it
+            log.warn("Not evicting decks of malformed DeckDeletedEvent: {}", e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = { "#{deckUpdatedCacheQueue.name}" })
+    public void refreshUpdatedDeck(DeckUpdatedEvent event) {
+        try {
+            deckExistenceCache.update(cardMapper.deckUpdatedEventToDeckSummaryDto(event));
+        } catch (RuntimeException e) {
+            log.warn("Not refreshing deck of malformed DeckUpdatedEvent: {}", e.getMessage());
+        }
+    }
+
+}
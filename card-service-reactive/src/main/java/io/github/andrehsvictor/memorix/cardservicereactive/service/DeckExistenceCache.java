@@ -0,0 +1,166 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckLookupRequestDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same policy as card-service's cache, held as futures so that concurrent requests for an
+ * uncached deck share one call to deck-service. Summaries fetched by a lookup are cached too, and
+ * every instance evicts or refreshes entries from its own copy of deck.deleted and deck.updated.
+ */
+@Slf4j
+@Component
+public class DeckExistenceCache {
+
+    private static final int MAX_LOOKUP_SIZE = 500;
+
+    private final DeckService deckService;
+    private final DeckTombstones deckTombstones;
+    private final AsyncCache<UUID, CachedDeck> cache;
+
+    public DeckExistenceCache(
+            DeckService deckService,
+            DeckTombstones deckTombstones,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.deck-cache.maximum-size:10000}") long maximumSize,
+            @Value("${memorix.deck-cache.positive-ttl:5m}") Duration positiveTtl,
+            @Value("${memorix.deck-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.deckService = deckService;
+        this.deckTombstones = deckTombstones;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<UUID, CachedDeck>creating((id, deck) -> deck.exists() ? positiveTtl : negativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "deckExistence");
+    }
+
+    /**
+     * Errors with a 503 {@code ResponseStatusException} when deck-service cannot tell, rather
+     * than reporting the deck as missing.
+     */
+    public Mono<Boolean> existsById(UUID id) {
+        if (deckTombstones.contains(id)) {
+            return Mono.just(false);
+        }
+        // A cancelled request must not cancel the call other requests are waiting on.
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> deckService.existsById(key)
+                .map(exists -> new CachedDeck(exists, null))
+                .toFuture()), true)
+                .map(CachedDeck::exists);
+    }
+
+    /**
+     * Like {@link #getAllByIds(Collection)} for a single deck, but errors when deck-service is
+     * unavailable instead of leaving the deck out.
+     */
+    public Mono<DeckSummaryDto> findById(UUID id) {
+        if (deckTombstones.contains(id)) {
+            return Mono.empty();
+        }
+        CachedDeck cached = cached(id);
+        if (cached != null && (!cached.exists() || cached.summary() != null)) {
+            return Mono.justOrEmpty(cached.summary());
+        }
+        return lookup(List.of(id)).mapNotNull(decks -> decks.get(id));
+    }
+
+    public Mono<Map<UUID, DeckSummaryDto>> getAllByIds(Collection<UUID> ids) {
+        return Mono.defer(() -> {
+            Map<UUID, DeckSummaryDto> decks = new HashMap<>();
+            List<UUID> uncachedIds = new ArrayList<>();
+            ids.stream()
+                    .distinct()
+                    .filter(id -> !deckTombstones.contains(id))
+                    .forEach(id -> {
+                        CachedDeck cached = cached(id);
+                        if (cached == null || cached.exists() && cached.summary() == null) {
+                            uncachedIds.add(id);
+                        } else if (cached.exists()) {
+                            decks.put(id, cached.summary());
+                        }
+                    });
+            return Flux.fromIterable(uncachedIds)
+                    .buffer(MAX_LOOKUP_SIZE)
+                    .concatMap(chunk -> lookup(chunk).onErrorResume(e -> {
+                        log.warn("Could not look up {} decks: {}", chunk.size(), e.getMessage());
+                        return Mono.empty();
+                    }))
+                    .collect(() -> decks, Map::putAll);
+        });
+    }
+
+    /**
+     * Refreshes a cached deck's summary, unless the cache already holds a newer version. Decks
+     * that are not cached are left out, so updates to unrelated decks do not evict hot ones.
+     */
+    public void update(DeckSummaryDto deck) {
+        cache.asMap().computeIfPresent(deck.getId(),
+                (id, cached) -> CompletableFuture.completedFuture(newest(done(cached), deck)));
+    }
+
+    public void evict(UUID id) {
+        cache.asMap().remove(id);
+    }
+
+    private CachedDeck cached(UUID id) {
+        return done(cache.getIfPresent(id));
+    }
+
+    private Mono<Map<UUID, DeckSummaryDto>> lookup(List<UUID> ids) {
+        return deckService.lookup(DeckLookupRequestDto.builder().ids(ids).build())
+                .map(this::cache);
+    }
+
+    private Map<UUID, DeckSummaryDto> cache(DeckLookupDto lookup) {
+        Map<UUID, DeckSummaryDto> decks = new HashMap<>();
+        lookup.getDecks().forEach(deck -> {
+            decks.put(deck.getId(), deck);
+            cache.asMap().compute(deck.getId(),
+                    (id, cached) -> CompletableFuture.completedFuture(newest(done(cached), deck)));
+        });
+        lookup.getMissingIds().forEach(id -> cache.put(id, CompletableFuture.completedFuture(new CachedDeck(false, null))));
+        return decks;
+    }
+
+    /**
+     * The entry of a finished load; loads still in flight count as uncached, so nothing here waits
+     * on them.
+     */
+    private static CachedDeck done(CompletableFuture<CachedDeck> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private static CachedDeck newest(CachedDeck cached, DeckSummaryDto deck) {
+        boolean cachedIsNewer = cached != null && cached.summary() != null
+                && cached.summary().getVersion() != null && deck.getVersion() != null
+                && cached.summary().getVersion() > deck.getVersion();
+        return cachedIsNewer ? cached : new CachedDeck(true, deck);
+    }
+
+    private record CachedDeck(boolean exists, DeckSummaryDto summary) {
+    }
+
+}
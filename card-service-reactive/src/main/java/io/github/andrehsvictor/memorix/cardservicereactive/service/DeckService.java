@@ -0,0 +1,187 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.cardservicereactive.dto.DeckLookupRequestDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking deck-service client behind the {@code deck-service} bulkhead and circuit breaker
+ * configured under {@code resilience4j.*}. Hedging works as in card-service: a call that has not
+ * answered within the recent p95 latency is raced against a second one, without parking a thread
+ * on either. Failures surface as 503 instead of being mistaken for a missing deck.
+ */
+@Slf4j
+@Component
+public class DeckService {
+
+    private static final String NAME = "deck-service";
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Timer latency;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Duration timeout;
+    private final boolean hedgingEnabled;
+    private final double hedgingPercentile;
+    private final long minHedgeDelayNanos;
+    private final long maxHedgeDelayNanos;
+
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayUpdatedAt = System.nanoTime();
+
+    public DeckService(
+            @LoadBalanced WebClient.Builder webClientBuilder,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.deck-client.base-url:http://deck-service}") String baseUrl,
+            @Value("${memorix.deck-client.timeout:1s}") Duration timeout,
+            @Value("${memorix.deck-client.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${memorix.deck-client.hedging.percentile:0.95}") double hedgingPercentile,
+            @Value("${memorix.deck-client.hedging.min-delay:20ms}") Duration minHedgeDelay,
+            @Value("${memorix.deck-client.hedging.max-delay:500ms}") Duration maxHedgeDelay) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        this.latency = Timer.builder("memorix.deck-client.latency")
+                .publishPercentiles(hedgingPercentile)
+                .register(meterRegistry);
+        this.hedgesSent = meterRegistry.counter("memorix.deck-client.hedges", "result", "sent");
+        this.hedgesWon = meterRegistry.counter("memorix.deck-client.hedges", "result", "won");
+        this.timeout = timeout;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingPercentile = hedgingPercentile;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.maxHedgeDelayNanos = maxHedgeDelay.toNanos();
+        this.hedgeDelayNanos = maxHedgeDelayNanos;
+    }
+
+    public Mono<Boolean> existsById(UUID id) {
+        return call(webClient.head()
+                .uri("/api/v2/decks/{id}", id)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return Mono.just(true);
+                    }
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return Mono.just(false);
+                    }
+                    return response.createError();
+                }));
+    }
+
+    public Mono<DeckLookupDto> lookup(DeckLookupRequestDto deckLookupRequestDto) {
+        return call(webClient.post()
+                .uri("/api/v2/decks/lookup")
+                .bodyValue(deckLookupRequestDto)
+                .retrieve()
+                .bodyToMono(DeckLookupDto.class));
+    }
+
+    private <T> Mono<T> call(Mono<T> request) {
+        Mono<T> attempt = timed(request
+                .onErrorMap(DeckService::isClientError, e -> {
+                    // Answers about the request itself are not a sign of an unhealthy deck-service.
+                    WebClientResponseException response = (WebClientResponseException) e;
+                    return new ResponseStatusException(response.getStatusCode(), response.getStatusText(), e);
+                })
+                .timeout(timeout))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead));
+        return (hedgingEnabled ? hedged(attempt) : attempt).onErrorMap(DeckService::translate);
+    }
+
+    private <T> Mono<T> hedged(Mono<T> attempt) {
+        Mono<Answer<T>> hedge = Mono.defer(() -> {
+            hedgesSent.increment();
+            return attempt.map(result -> new Answer<>(result, true));
+        }).delaySubscription(Duration.ofNanos(hedgeDelayNanos()));
+        // Whichever answers first wins and the other is cancelled; the hedge is never sent when
+        // the first attempt answers within the delay.
+        return Mono.firstWithValue(attempt.map(result -> new Answer<>(result, false)), hedge)
+                .doOnNext(answer -> {
+                    if (answer.hedged()) {
+                        hedgesWon.increment();
+                    }
+                })
+                .map(Answer::result);
+    }
+
+    private <T> Mono<T> timed(Mono<T> request) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return request.doOnSuccess(result -> latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayUpdatedAt > HEDGE_DELAY_REFRESH_NANOS) {
+            double observed = maxHedgeDelayNanos;
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == hedgingPercentile && value.value() > 0) {
+                    observed = value.value(TimeUnit.NANOSECONDS);
+                }
+            }
+            hedgeDelayNanos = Math.clamp((long) observed, minHedgeDelayNanos, maxHedgeDelayNanos);
+            hedgeDelayUpdatedAt = now;
+        }
+        return hedgeDelayNanos;
+    }
+
+    private static boolean isClientError(Throwable failure) {
+        return failure instanceof WebClientResponseException e && e.getStatusCode().is4xxClientError();
+    }
+
+    private static Throwable translate(Throwable failure) {
+        if (failure instanceof NoSuchElementException && failure.getSuppressed().length > 0) {
+            // Both hedged attempts failed; report the last one.
+            failure = failure.getSuppressed()[failure.getSuppressed().length - 1];
+        }
+        if (failure instanceof ResponseStatusException e) {
+            return e;
+        }
+        String reason = switch (failure) {
+            case CallNotPermittedException e -> "Deck service circuit breaker is open";
+            case BulkheadFullException e -> "Too many concurrent calls to deck service";
+            case TimeoutException e -> "Deck service timed out";
+            default -> "Deck service unavailable";
+        };
+        log.debug("{}: {}", reason, failure.toString());
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason, failure);
+    }
+
+    private record Answer<T>(T result, boolean hedged) {
+    }
+
+}
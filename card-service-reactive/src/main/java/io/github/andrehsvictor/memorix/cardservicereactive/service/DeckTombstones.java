@@ -0,0 +1,55 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.andrehsvictor.memorix.cardservicereactive.model.DeckPurge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only view of the decks card-service is purging, so their cards are hidden here too.
+ */
+@Slf4j
+@Component
+public class DeckTombstones {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private volatile Set<UUID> deckIds = Set.of();
+
+    public DeckTombstones(ReactiveMongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        meterRegistry.gauge("memorix.deck-purge.backlog", this, tombstones -> tombstones.deckIds.size());
+    }
+
+    public boolean contains(UUID deckId) {
+        return deckId != null && deckIds.contains(deckId);
+    }
+
+    public Set<UUID> snapshot() {
+        return deckIds;
+    }
+
+    @Scheduled(fixedDelayString = "${memorix.deck-purge.refresh-interval:5s}")
+    public Mono<Void> refresh() {
+        Query query = new Query();
+        query.fields().include("_id");
+        return mongoTemplate.find(query, DeckPurge.class)
+                .map(DeckPurge::getDeckId)
+                .collect(Collectors.toUnmodifiableSet())
+                .doOnNext(refreshed -> deckIds = refreshed)
+                .onErrorResume(e -> {
+                    log.warn("Could not refresh deck tombstones: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+}
@@ -0,0 +1,135 @@
+package io.github.andrehsvictor.memorix.cardservicereactive.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the client against a stub deck-service whose status for each call is given by the test.
+ */
+class DeckServiceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final AtomicInteger calls = new AtomicInteger();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void reportsMissingDeckAsNotExisting() throws IOException {
+        DeckService deckService = create(false, call -> 404);
+        assertFalse(deckService.existsById(UUID.randomUUID()).block());
+        assertTrue(create(false, call -> 200).existsById(UUID.randomUUID()).block());
+    }
+
+    @Test
+    void reportsUnavailableDeckServiceAs503() throws IOException {
+        DeckService deckService = create(false, call -> 500);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> deckService.existsById(UUID.randomUUID()).block());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals("Deck service unavailable", e.getReason());
+
+        circuitBreakerRegistry.circuitBreaker("deck-service").transitionToOpenState();
+        int before = calls.get();
+        e = assertThrows(ResponseStatusException.class, () -> deckService.existsById(UUID.randomUUID()).block());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals("Deck service circuit breaker is open", e.getReason());
+        assertEquals(before, calls.get());
+    }
+
+    @Test
+    void hedgesSlowCallsAndReturnsTheFirstAnswer() throws IOException {
+        DeckService deckService = create(true, call -> {
+            if (call == 2) {
+                sleep(Duration.ofSeconds(2));
+            }
+            return 200;
+        });
+        // A cold client can take longer than the hedge delay to connect, letting the hedge reach
+        // the stub first.
+        WebClient.create("http://localhost:" + server.getAddress().getPort())
+                .head()
+                .uri("/api/v2/decks/{id}", UUID.randomUUID())
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+        long started = System.nanoTime();
+        assertTrue(deckService.existsById(UUID.randomUUID()).block());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1.0, meterRegistry.counter("memorix.deck-client.hedges", "result", "sent").count());
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.counter("memorix.deck-client.hedges", "result", "won").count());
+    }
+
+    @Test
+    void reportsFailedHedgeAs503() throws IOException {
+        DeckService deckService = create(true, call -> {
+            sleep(Duration.ofMillis(200));
+            return 503;
+        });
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> deckService.existsById(UUID.randomUUID()).block());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals("Deck service unavailable", e.getReason());
+        assertEquals(2, calls.get());
+    }
+
+    private DeckService create(boolean hedgingEnabled, IntUnaryOperator status) throws IOException {
+        if (server != null) {
+            server.stop(0);
+        }
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v2/decks", exchange -> {
+            exchange.sendResponseHeaders(status.applyAsInt(calls.incrementAndGet()), -1);
+            exchange.close();
+        });
+        server.start();
+        return new DeckService(
+                WebClient.builder(),
+                circuitBreakerRegistry,
+                BulkheadRegistry.ofDefaults(),
+                meterRegistry,
+                "http://localhost:" + server.getAddress().getPort(),
+                Duration.ofSeconds(5),
+                hedgingEnabled,
+                0.95,
+                Duration.ofMillis(50),
+                Duration.ofMillis(50));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.github.andrehsvictor.memorix.cardservice.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Exchange;
@@ -33,6 +35,35 @@ public class RabbitConfig {
         return QueueBuilder.durable("deck.deleted.dlq").build();
     }
 
+    @Bean
+    Queue deckUpdatedQueue() {
+        return QueueBuilder
+                .durable("deck.updated")
+                .withArgument("x-dead-letter-exchange", "deck.dlx")
+                .withArgument("x-dead-letter-routing-key", "deck.updated.dlq")
+                .withArgument("x-message-ttl", 300000)
+                .build();
+    }
+
+    @Bean
+    Queue deckUpdatedDlq() {
+        return QueueBuilder.durable("deck.updated.dlq").build();
+    }
+
+    /**
+     * Every instance gets its own copy of deck.deleted and deck.updated for its deck cache; the
+     * shared queues above reach only one instance.
+     */
+    @Bean
+    Queue deckDeletedCacheQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("card-service.deck-cache.deleted."));
+    }
+
+    @Bean
+    Queue deckUpdatedCacheQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("card-service.deck-cache.updated."));
+    }
+
     @Bean
     Exchange deckDlxExchange() {
         return ExchangeBuilder.directExchange("deck.dlx").durable(true).build();
@@ -43,11 +74,36 @@ public class RabbitConfig {
         return ExchangeBuilder.directExchange("deck.exchange").durable(true).build();
     }
 
+    @Bean
+    Exchange cardExchange() {
+        return ExchangeBuilder.directExchange("card.exchange").durable(true).build();
+    }
+
     @Bean
     Binding bindingDeckDeleted(Queue deckDeletedQueue, Exchange deckExchange) {
         return BindingBuilder.bind(deckDeletedQueue).to(deckExchange).with("deck.deleted").noargs();
     }
 
+    @Bean
+    Binding bindingDeckUpdated(Queue deckUpdatedQueue, Exchange deckExchange) {
+        return BindingBuilder.bind(deckUpdatedQueue).to(deckExchange).with("deck.updated").noargs();
+    }
+
+    @Bean
+    Binding bindingDeckDeletedCache(Queue deckDeletedCacheQueue, Exchange deckExchange) {
+        return BindingBuilder.bind(deckDeletedCacheQueue).to(deckExchange).with("deck.deleted").noargs();
+    }
+
+    @Bean
+    Binding bindingDeckUpdatedCache(Queue deckUpdatedCacheQueue, Exchange deckExchange) {
+        return BindingBuilder.bind(deckUpdatedCacheQueue).to(deckExchange).with("deck.updated").noargs();
+    }
+
+    @Bean
+    Binding bindingDeckUpdatedDlq(Queue deckUpdatedDlq, Exchange deckDlxExchange) {
+        return BindingBuilder.bind(deckUpdatedDlq).to(deckDlxExchange).with("deck.updated.dlq").noargs();
+    }
+
     @Bean
     Binding bindingDeckDeletedDlq(Queue deckDeletedDlq, Exchange deckDlxExchange) {
         return BindingBuilder.bind(deckDeletedDlq).to(deckDlxExchange).with("deck.deleted.dlq").noargs();
@@ -62,6 +118,7 @@ public class RabbitConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
+        template.setMandatory(true);
         return template;
     }
 }
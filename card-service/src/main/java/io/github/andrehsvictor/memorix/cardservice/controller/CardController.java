@@ -1,10 +1,18 @@
 package io.github.andrehsvictor.memorix.cardservice.controller;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,12 +20,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import io.github.andrehsvictor.memorix.cardservice.dto.CardImportResultDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.CardSearchResultDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.CursorPageDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.PostCardsDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.PutCardDto;
 import io.github.andrehsvictor.memorix.cardservice.model.Card;
+import io.github.andrehsvictor.memorix.cardservice.service.CardImportService;
 import io.github.andrehsvictor.memorix.cardservice.service.CardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,40 +52,125 @@ import lombok.RequiredArgsConstructor;
 public class CardController {
 
     private final CardService cardService;
+    private final CardImportService cardImportService;
 
     @Operation(summary = "Get all cards", description = "Retrieve a paginated list of all cards with deck information")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag")
     })
     @GetMapping("/api/v2/cards")
     public Page<CardWithDeckDto> getAll(
-            @Parameter(description = "Pagination information") Pageable pageable) {
+            @Parameter(description = "Pagination information") Pageable pageable,
+            @Parameter(hidden = true) WebRequest request) {
+        if (request.checkNotModified(pageETag(cardService.getAllVersions(pageable)))) {
+            return null;
+        }
         return cardService.getAll(pageable);
     }
 
+    @Operation(summary = "Get all cards by cursor", description = "Retrieve cards ordered by creation date using an opaque continuation token instead of page numbers; pass an empty cursor to get the first page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(value = "/api/v2/cards", params = "cursor")
+    public CursorPageDto<CardWithDeckDto> getAllByCursor(
+            @Parameter(description = "Continuation token returned by the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of cards to return (1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Creation date ordering, only read on the first page") @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        return cardService.getAllByCursor(cursor, size, direction);
+    }
+
+    @Operation(summary = "Search cards", description = "Full-text search over card questions and answers, optionally scoped to one deck, ordered by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/cards/search")
+    public List<CardSearchResultDto> search(
+            @Parameter(description = "Search text", required = true, example = "photosynthesis") @RequestParam String q,
+            @Parameter(description = "Restrict results to this deck", example = "123e4567-e89b-12d3-a456-426614174000") @RequestParam(required = false) UUID deckId,
+            @Parameter(description = "Maximum number of results (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        return cardService.search(q, deckId, limit);
+    }
+
+    @Operation(summary = "Stream card counts per deck", description = "Stream the number of cards of every deck as newline-delimited JSON ordered by deck ID, used by deck-service to reconcile deck card counters. Internal: the gateway does not route /internal/**")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Card counts streamed successfully", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    @GetMapping(value = "/internal/v2/cards/counts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportCardsCounts() {
+        return cardService.exportCardsCounts();
+    }
+
     @Operation(summary = "Get card by ID", description = "Retrieve a specific card by its unique identifier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Card found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardWithDeckDto.class))),
+            @ApiResponse(responseCode = "304", description = "Card not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Card not found", content = @Content(mediaType = "application/json"))
     })
     @GetMapping("/api/v2/cards/{id}")
     public CardWithDeckDto getById(
-            @Parameter(description = "Card unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id) {
+            @Parameter(description = "Card unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
+            @Parameter(hidden = true) WebRequest request) {
+        Card version = cardService.getVersionById(id);
+        if (request.checkNotModified(ETags.of(cardVersion(version)), lastModified(version).toEpochMilli())) {
+            return null;
+        }
         return cardService.getById(id);
     }
 
     @Operation(summary = "Get cards by deck ID", description = "Retrieve a paginated list of cards belonging to a specific deck")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
     })
     @GetMapping("/api/v2/decks/{deckId}/cards")
     public Page<Card> getAllByDeckId(
             @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
-            @Parameter(description = "Pagination information") Pageable pageable) {
+            @Parameter(description = "Pagination information") Pageable pageable,
+            @Parameter(hidden = true) WebRequest request) {
+        if (request.checkNotModified(pageETag(cardService.getAllVersionsByDeckId(deckId, pageable)))) {
+            return null;
+        }
         return cardService.getAllByDeckId(deckId, pageable);
     }
 
+    @Operation(summary = "Get cards by deck ID by cursor", description = "Retrieve the cards of a specific deck ordered by creation date using an opaque continuation token; pass an empty cursor to get the first page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(value = "/api/v2/decks/{deckId}/cards", params = "cursor")
+    public CursorPageDto<Card> getAllByDeckIdByCursor(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(description = "Continuation token returned by the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of cards to return (1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Creation date ordering, only read on the first page") @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        return cardService.getAllByDeckIdByCursor(deckId, cursor, size, direction);
+    }
+
+    @Operation(summary = "Export cards by deck ID", description = "Stream every card of a specific deck as newline-delimited JSON, gzip-compressed when the client accepts it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards streamed successfully", content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/decks/{deckId}/cards/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByDeckId(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId) {
+        // Compression is left to the server, which negotiates Accept-Encoding and gzips the stream
+        // as it is written.
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("deck-" + deckId + "-cards.ndjson")
+                        .build()
+                        .toString())
+                .body(cardService.exportAllByDeckId(deckId));
+    }
+
     @Operation(summary = "Create new card", description = "Create a new card in a specific deck")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Card created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardWithDeckDto.class))),
@@ -83,6 +185,34 @@ public class CardController {
         return ResponseEntity.created(URI.create("/api/v2/cards/" + createdCard.getId())).body(createdCard);
     }
 
+    @Operation(summary = "Create cards in batch", description = "Create many cards in a specific deck with a single bulk write")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Cards created successfully", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "409", description = "Cards were only partially created", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/api/v2/decks/{deckId}/cards/batch")
+    public ResponseEntity<List<CardWithDeckDto>> createAll(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(description = "Cards creation data", required = true) @Valid @RequestBody PostCardsDto postCardsDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(cardService.createAll(deckId, postCardsDto));
+    }
+
+    @Operation(summary = "Import cards", description = "Import cards into a specific deck from a newline-delimited JSON or CSV upload, read and inserted in chunks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, rejected lines are reported in the body", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unreadable upload", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/api/v2/decks/{deckId}/cards/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public CardImportResultDto importAll(
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID deckId,
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "Cards as NDJSON, or CSV with a question,answer header", required = true) InputStream body) {
+        return cardImportService.importAll(deckId, contentType, body);
+    }
+
     @Operation(summary = "Update card", description = "Update an existing card with new information")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Card updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardWithDeckDto.class))),
@@ -107,4 +237,20 @@ public class CardController {
         cardService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String pageETag(Page<Card> versions) {
+        return ETags.of(versions.getTotalElements(), versions.getContent().stream()
+                .map(CardController::cardVersion)
+                .toList());
+    }
+
+    private static Instant lastModified(Card card) {
+        Instant deckSyncedAt = card.getDeckSyncedAt();
+        return deckSyncedAt != null && deckSyncedAt.isAfter(card.getUpdatedAt()) ? deckSyncedAt : card.getUpdatedAt();
+    }
+
+    private static String cardVersion(Card card) {
+        return card.getId() + "@" + card.getUpdatedAt() + "@" + card.getDeckSyncedAt();
+    }
+
 }
@@ -0,0 +1,13 @@
+package io.github.andrehsvictor.memorix.cardservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CardImportErrorDto {
+
+    private long line;
+    private String message;
+
+}
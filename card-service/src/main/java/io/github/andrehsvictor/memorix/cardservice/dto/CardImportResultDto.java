@@ -0,0 +1,19 @@
+package io.github.andrehsvictor.memorix.cardservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CardImportResultDto {
+
+    private UUID deckId;
+    private int imported;
+    private int failed;
+    private List<CardImportErrorDto> errors;
+    private boolean errorsTruncated;
+
+}
@@ -0,0 +1,17 @@
+package io.github.andrehsvictor.memorix.cardservice.dto;
+
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CardSearchResultDto {
+
+    private UUID id;
+    private String questionSnippet;
+    private UUID deckId;
+    private Float score;
+
+}
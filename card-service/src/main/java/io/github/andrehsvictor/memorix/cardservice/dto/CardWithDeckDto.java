@@ -15,5 +15,6 @@ public class CardWithDeckDto {
     private String answer;
     private Instant createdAt;
     private Instant updatedAt;
+    private DeckSummaryDto deck;
     
 }
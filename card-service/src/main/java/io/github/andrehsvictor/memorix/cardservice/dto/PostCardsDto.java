@@ -0,0 +1,19 @@
+package io.github.andrehsvictor.memorix.cardservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PostCardsDto {
+
+    @NotEmpty(message = "Cards cannot be empty")
+    @Size(max = 5000, message = "Cannot create more than 5000 cards at once")
+    private List<@Valid PostCardDto> cards;
+
+}
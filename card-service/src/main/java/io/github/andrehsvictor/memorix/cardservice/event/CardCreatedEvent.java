@@ -6,7 +6,9 @@ import lombok.Data;
 @Data
 @Builder
 public class CardCreatedEvent {
+    private String eventId;
     private String cardId;
     private String deckId;
+    private Integer count;
     private Long timestamp;
 }
@@ -1,5 +1,7 @@
 package io.github.andrehsvictor.memorix.cardservice.event;
 
+import java.util.List;
+
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,5 +9,6 @@ import lombok.Data;
 @Builder
 public class DeckDeletedEvent {
     private String deckId;
+    private List<String> deckIds;
     private Long timestamp;
 }
@@ -1,25 +1,53 @@
 package io.github.andrehsvictor.memorix.cardservice.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
-import org.springframework.beans.factory.annotation.Autowired;
 
 import io.github.andrehsvictor.memorix.cardservice.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.PostCardDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.PutCardDto;
+import io.github.andrehsvictor.memorix.cardservice.event.DeckUpdatedEvent;
 import io.github.andrehsvictor.memorix.cardservice.model.Card;
-import io.github.andrehsvictor.memorix.cardservice.service.DeckService;
 
 @Mapper(componentModel = "spring")
 public abstract class CardMapper {
 
-    @Autowired
-    protected DeckService deckService;
-
     public abstract Card postCardDtoToCard(PostCardDto postCardDto);
 
     public abstract Card updateCardFromPutCardDto(PutCardDto putCardDto, @MappingTarget Card card);
 
+    @Mapping(target = "deck", source = "card")
     public abstract CardWithDeckDto cardToCardWithDeckDto(Card card);
 
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "deckId", source = "id")
+    @Mapping(target = "deckName", source = "name")
+    @Mapping(target = "deckCoverImageUrl", source = "coverImageUrl")
+    @Mapping(target = "deckHexColor", source = "hexColor")
+    @Mapping(target = "deckCardsCount", source = "cardsCount")
+    @Mapping(target = "deckSyncedAt", source = "updatedAt")
+    @Mapping(target = "deckVersion", source = "version")
+    public abstract void updateCardFromDeckSummaryDto(DeckSummaryDto deckSummaryDto, @MappingTarget Card card);
+
+    @Mapping(target = "id", expression = "java(java.util.UUID.fromString(deckUpdatedEvent.getDeckId()))")
+    public abstract DeckSummaryDto deckUpdatedEventToDeckSummaryDto(DeckUpdatedEvent deckUpdatedEvent);
+
+    protected DeckSummaryDto cardToDeckSummaryDto(Card card) {
+        if (card.getDeckSyncedAt() == null) {
+            return null;
+        }
+        return DeckSummaryDto.builder()
+                .id(card.getDeckId())
+                .name(card.getDeckName())
+                .coverImageUrl(card.getDeckCoverImageUrl())
+                .hexColor(card.getDeckHexColor())
+                .cardsCount(card.getDeckCardsCount())
+                .updatedAt(card.getDeckSyncedAt())
+                .version(card.getDeckVersion())
+                .build();
+    }
+
 }
@@ -0,0 +1,42 @@
+package io.github.andrehsvictor.memorix.cardservice.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "deckId")
+@Document(collection = "deck_purges")
+public class DeckPurge implements Serializable {
+
+    private static final long serialVersionUID = 2950481763920175264L;
+
+    @Id
+    private UUID deckId;
+
+    private long deletedCount;
+
+    private String owner;
+
+    @Indexed
+    private Instant leaseExpiresAt;
+
+    private Instant requestedAt;
+    private Instant updatedAt;
+
+}
@@ -1,17 +1,20 @@
 package io.github.andrehsvictor.memorix.cardservice.repository;
 
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import io.github.andrehsvictor.memorix.cardservice.model.Card;
 
-public interface CardRepository extends MongoRepository<Card, UUID> {
+public interface CardRepository extends MongoRepository<Card, UUID>, CardRepositoryCustom {
 
     Page<Card> findAllByDeckId(UUID deckId, Pageable pageable);
 
-    long deleteAllByDeckId(UUID deckId);
+    @Meta(cursorBatchSize = 500)
+    Stream<Card> streamAllByDeckId(UUID deckId);
 
 }
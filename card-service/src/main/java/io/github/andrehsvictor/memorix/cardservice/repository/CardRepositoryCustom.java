@@ -0,0 +1,40 @@
+package io.github.andrehsvictor.memorix.cardservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.KeysetCursor;
+import io.github.andrehsvictor.memorix.cardservice.model.Card;
+
+public interface CardRepositoryCustom {
+
+    int insertAll(List<Card> cards);
+
+    List<CardSearchHit> search(String text, UUID deckId, Collection<UUID> excludedDeckIds, int limit);
+
+    List<Card> findAllByKeyset(UUID deckId, Collection<UUID> excludedDeckIds, KeysetCursor after,
+            Sort.Direction direction, int limit);
+
+    Optional<Card> findVersionById(UUID id);
+
+    Page<Card> findAllVersions(UUID deckId, Collection<UUID> excludedDeckIds, Pageable pageable);
+
+    Page<Card> findAllExcludingDeckIds(Collection<UUID> excludedDeckIds, Pageable pageable);
+
+    Stream<DeckCardsCountDto> streamCardsCountsByDeckId();
+
+    long updateDeckByDeckId(DeckSummaryDto deck);
+
+    Map<UUID, Integer> deleteChunkByDeckIds(Collection<UUID> deckIds, int limit);
+
+}
@@ -0,0 +1,155 @@
+package io.github.andrehsvictor.memorix.cardservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.KeysetCursor;
+import io.github.andrehsvictor.memorix.cardservice.model.Card;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class CardRepositoryCustomImpl implements CardRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int insertAll(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.bulkOps(BulkMode.UNORDERED, Card.class)
+                .insert(cards)
+                .execute()
+                .getInsertedCount();
+    }
+
+    @Override
+    public List<CardSearchHit> search(String text, UUID deckId, Collection<UUID> excludedDeckIds, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+        if (deckId != null) {
+            query.addCriteria(Criteria.where("deckId").is(deckId));
+        } else if (!excludedDeckIds.isEmpty()) {
+            query.addCriteria(Criteria.where("deckId").nin(excludedDeckIds));
+        }
+        query.fields().include("question", "deckId");
+        return mongoTemplate.find(query, CardSearchHit.class, mongoTemplate.getCollectionName(Card.class));
+    }
+
+    @Override
+    public List<Card> findAllByKeyset(UUID deckId, Collection<UUID> excludedDeckIds, KeysetCursor after,
+            Sort.Direction direction, int limit) {
+        Criteria criteria = deckId != null ? Criteria.where("deckId").is(deckId) : excluding(excludedDeckIds);
+        if (after != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            Criteria id = Criteria.where("_id");
+            criteria.orOperator(
+                    direction.isAscending() ? createdAt.gt(after.createdAt()) : createdAt.lt(after.createdAt()),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(after.createdAt()),
+                            direction.isAscending() ? id.gt(after.id()) : id.lt(after.id())));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(direction, "createdAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Card.class);
+    }
+
+    @Override
+    public Optional<Card> findVersionById(UUID id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("deckId", "updatedAt", "deckSyncedAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Card.class));
+    }
+
+    @Override
+    public Page<Card> findAllVersions(UUID deckId, Collection<UUID> excludedDeckIds, Pageable pageable) {
+        Criteria criteria = deckId != null ? Criteria.where("deckId").is(deckId) : excluding(excludedDeckIds);
+        Query query = Query.query(criteria).with(pageable);
+        query.fields().include("updatedAt", "deckSyncedAt");
+        List<Card> cards = mongoTemplate.find(query, Card.class);
+        return PageableExecutionUtils.getPage(cards, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Card.class));
+    }
+
+    @Override
+    public Page<Card> findAllExcludingDeckIds(Collection<UUID> excludedDeckIds, Pageable pageable) {
+        Query query = Query.query(excluding(excludedDeckIds)).with(pageable);
+        List<Card> cards = mongoTemplate.find(query, Card.class);
+        return PageableExecutionUtils.getPage(cards, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Card.class));
+    }
+
+    @Override
+    public Stream<DeckCardsCountDto> streamCardsCountsByDeckId() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.Direction.ASC, "deckId"),
+                Aggregation.project("deckId").andExclude("_id"),
+                Aggregation.group("deckId").count().as("count"),
+                Aggregation.sort(Sort.Direction.ASC, "_id"),
+                Aggregation.project("count").and("deckId").previousOperation())
+                .withOptions(AggregationOptions.builder()
+                        .allowDiskUse(true)
+                        .cursorBatchSize(1000)
+                        .build());
+        return mongoTemplate.aggregateStream(aggregation, mongoTemplate.getCollectionName(Card.class),
+                DeckCardsCountDto.class);
+    }
+
+    @Override
+    public long updateDeckByDeckId(DeckSummaryDto deck) {
+        // Deck versions follow commit order in deck-service, unlike updatedAt, which is stamped by
+        // either the JVM or the database clock depending on the write
+        Query query = Query.query(Criteria.where("deckId").is(deck.getId())
+                .orOperator(
+                        Criteria.where("deckVersion").is(null),
+                        Criteria.where("deckVersion").lt(deck.getVersion())));
+        Update update = new Update()
+                .set("deckName", deck.getName())
+                .set("deckCoverImageUrl", deck.getCoverImageUrl())
+                .set("deckHexColor", deck.getHexColor())
+                .set("deckCardsCount", deck.getCardsCount())
+                .set("deckSyncedAt", deck.getUpdatedAt())
+                .set("deckVersion", deck.getVersion());
+        return mongoTemplate.updateMulti(query, update, Card.class).getModifiedCount();
+    }
+
+    @Override
+    public Map<UUID, Integer> deleteChunkByDeckIds(Collection<UUID> deckIds, int limit) {
+        Query query = Query.query(Criteria.where("deckId").in(deckIds)).limit(limit);
+        query.fields().include("_id").include("deckId");
+        List<Card> cards = mongoTemplate.find(query, Card.class);
+        if (cards.isEmpty()) {
+            return Map.of();
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(cards.stream().map(Card::getId).toList())), Card.class);
+        return cards.stream().collect(Collectors.toMap(Card::getDeckId, card -> 1, Integer::sum));
+    }
+
+    private static Criteria excluding(Collection<UUID> excludedDeckIds) {
+        return excludedDeckIds.isEmpty() ? new Criteria() : Criteria.where("deckId").nin(excludedDeckIds);
+    }
+
+}
@@ -0,0 +1,11 @@
+package io.github.andrehsvictor.memorix.cardservice.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import io.github.andrehsvictor.memorix.cardservice.model.DeckPurge;
+
+public interface DeckPurgeRepository extends MongoRepository<DeckPurge, UUID>, DeckPurgeRepositoryCustom {
+
+}
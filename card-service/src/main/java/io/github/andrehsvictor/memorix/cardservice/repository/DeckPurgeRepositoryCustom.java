@@ -0,0 +1,25 @@
+package io.github.andrehsvictor.memorix.cardservice.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.github.andrehsvictor.memorix.cardservice.model.DeckPurge;
+
+public interface DeckPurgeRepositoryCustom {
+
+    void createAllIfAbsent(Collection<UUID> deckIds);
+
+    List<DeckPurge> claimNext(String owner, Duration lease, int limit);
+
+    boolean checkpoint(Collection<UUID> deckIds, Map<UUID, Integer> deleted, String owner, Duration lease);
+
+    void release(Collection<UUID> deckIds, String owner);
+
+    void complete(Collection<UUID> deckIds, String owner);
+
+    List<UUID> findAllDeckIds();
+
+}
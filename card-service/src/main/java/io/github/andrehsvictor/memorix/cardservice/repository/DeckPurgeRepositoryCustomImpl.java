@@ -0,0 +1,113 @@
+package io.github.andrehsvictor.memorix.cardservice.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import io.github.andrehsvictor.memorix.cardservice.model.DeckPurge;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DeckPurgeRepositoryCustomImpl implements DeckPurgeRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void createAllIfAbsent(Collection<UUID> deckIds) {
+        if (deckIds.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Update update = new Update()
+                .setOnInsert("deletedCount", 0L)
+                .setOnInsert("requestedAt", now)
+                .setOnInsert("updatedAt", now);
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, DeckPurge.class);
+        deckIds.forEach(deckId -> bulkOperations.upsert(Query.query(Criteria.where("_id").is(deckId)), update));
+        bulkOperations.execute();
+    }
+
+    @Override
+    public List<DeckPurge> claimNext(String owner, Duration lease, int limit) {
+        Instant now = Instant.now();
+        Query candidates = Query.query(claimable(now))
+                .with(Sort.by("requestedAt"))
+                .limit(limit);
+        candidates.fields().include("_id");
+        List<UUID> deckIds = mongoTemplate.find(candidates, DeckPurge.class).stream()
+                .map(DeckPurge::getDeckId)
+                .toList();
+        if (deckIds.isEmpty()) {
+            return List.of();
+        }
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(deckIds)).addCriteria(claimable(now)),
+                new Update()
+                        .set("owner", owner)
+                        .set("leaseExpiresAt", now.plus(lease)),
+                DeckPurge.class);
+        Query claimed = ownedBy(deckIds, owner);
+        claimed.fields().include("_id").include("deletedCount");
+        return mongoTemplate.find(claimed, DeckPurge.class);
+    }
+
+    @Override
+    public boolean checkpoint(Collection<UUID> deckIds, Map<UUID, Integer> deleted, String owner, Duration lease) {
+        Instant now = Instant.now();
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, DeckPurge.class);
+        deckIds.forEach(deckId -> bulkOperations.updateOne(
+                ownedBy(List.of(deckId), owner),
+                new Update()
+                        .inc("deletedCount", deleted.getOrDefault(deckId, 0))
+                        .set("leaseExpiresAt", now.plus(lease))
+                        .set("updatedAt", now)));
+        return bulkOperations.execute().getMatchedCount() == deckIds.size();
+    }
+
+    @Override
+    public void release(Collection<UUID> deckIds, String owner) {
+        mongoTemplate.updateMulti(
+                ownedBy(deckIds, owner),
+                new Update()
+                        .unset("owner")
+                        .unset("leaseExpiresAt")
+                        .set("updatedAt", Instant.now()),
+                DeckPurge.class);
+    }
+
+    @Override
+    public void complete(Collection<UUID> deckIds, String owner) {
+        mongoTemplate.remove(ownedBy(deckIds, owner), DeckPurge.class);
+    }
+
+    @Override
+    public List<UUID> findAllDeckIds() {
+        Query query = new Query();
+        query.fields().include("_id");
+        return mongoTemplate.find(query, DeckPurge.class).stream()
+                .map(DeckPurge::getDeckId)
+                .toList();
+    }
+
+    private static Criteria claimable(Instant now) {
+        return new Criteria().orOperator(
+                Criteria.where("leaseExpiresAt").is(null),
+                Criteria.where("leaseExpiresAt").lt(now));
+    }
+
+    private static Query ownedBy(Collection<UUID> deckIds, String owner) {
+        return Query.query(Criteria.where("_id").in(deckIds).and("owner").is(owner));
+    }
+
+}
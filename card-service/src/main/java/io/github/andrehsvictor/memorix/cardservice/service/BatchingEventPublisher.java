@@ -0,0 +1,258 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class BatchingEventPublisher implements SmartLifecycle {
+
+    /**
+     * What {@link #publish} does when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Waits up to enqueue-timeout for room, then drops the event. */
+        WAIT_THEN_DROP,
+        /** Drops the event at once. */
+        DROP,
+        /** Sends the event on the caller's thread and drops it if the broker does not confirm. */
+        CALLER_RUNS
+    }
+
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final BlockingQueue<PendingEvent> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration confirmTimeout;
+    private final Duration enqueueTimeout;
+    private final OverflowPolicy overflowPolicy;
+    private final Timer confirmLatency;
+    private final Counter publishedCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    public BatchingEventPublisher(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.card-events.publisher.queue-capacity:10000}") int queueCapacity,
+            @Value("${memorix.card-events.publisher.batch-size:100}") int batchSize,
+            @Value("${memorix.card-events.publisher.max-attempts:3}") int maxAttempts,
+            @Value("${memorix.card-events.publisher.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${memorix.card-events.publisher.confirm-timeout:5s}") Duration confirmTimeout,
+            @Value("${memorix.card-events.publisher.enqueue-timeout:100ms}") Duration enqueueTimeout,
+            @Value("${memorix.card-events.publisher.overflow-policy:WAIT_THEN_DROP}") OverflowPolicy overflowPolicy) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.confirmTimeout = confirmTimeout;
+        this.enqueueTimeout = enqueueTimeout;
+        this.overflowPolicy = overflowPolicy;
+        this.confirmLatency = Timer.builder("memorix.card-events.confirm.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishedCounter = meterRegistry.counter("memorix.card-events.publisher", "result", "published");
+        this.retriedCounter = meterRegistry.counter("memorix.card-events.publisher", "result", "retried");
+        this.droppedCounter = meterRegistry.counter("memorix.card-events.publisher", "result", "dropped");
+        meterRegistry.gauge("memorix.card-events.queue.depth", queue, BlockingQueue::size);
+    }
+
+    public void publish(String exchange, String routingKey, Object event) {
+        PendingEvent pendingEvent = new PendingEvent(exchange, routingKey, event);
+        if (queue.offer(pendingEvent)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case WAIT_THEN_DROP -> {
+                try {
+                    if (queue.offer(pendingEvent, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(pendingEvent, "publish queue is full");
+            }
+            case DROP -> drop(pendingEvent, "publish queue is full");
+            case CALLER_RUNS -> sendBatch(List.of(pendingEvent))
+                    .forEach(failed -> drop(failed, "broker did not confirm"));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        publisherThread = Thread.ofPlatform()
+                .name("card-event-publisher")
+                .daemon(true)
+                .start(this::drainLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (publisherThread == null) {
+            return;
+        }
+        try {
+            publisherThread.join(confirmTimeout.multipliedBy(2).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopped card event publisher with {} events still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Failed events wait in {@code retries} until their backoff has passed, so a failing batch
+     * does not hold up the events queued behind it.
+     */
+    private void drainLoop() {
+        List<PendingEvent> retries = new ArrayList<>();
+        while (running || !queue.isEmpty() || !retries.isEmpty()) {
+            List<PendingEvent> batch = new ArrayList<>(batchSize);
+            takeDueRetries(retries, batch);
+            try {
+                if (batch.isEmpty()) {
+                    PendingEvent first = queue.poll(pollTimeoutNanos(retries), TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                retries.addAll(sendBatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected failure while publishing card events", e);
+            }
+        }
+    }
+
+    private void takeDueRetries(List<PendingEvent> retries, List<PendingEvent> batch) {
+        long now = System.nanoTime();
+        Iterator<PendingEvent> iterator = retries.iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            PendingEvent retry = iterator.next();
+            if (now - retry.retryAt() >= 0) {
+                batch.add(retry);
+                iterator.remove();
+            }
+        }
+    }
+
+    private long pollTimeoutNanos(List<PendingEvent> retries) {
+        long now = System.nanoTime();
+        long timeout = MAX_POLL_NANOS;
+        for (PendingEvent retry : retries) {
+            timeout = Math.min(timeout, Math.max(0, retry.retryAt() - now));
+        }
+        return timeout;
+    }
+
+    private List<PendingEvent> sendBatch(List<PendingEvent> batch) {
+        List<CorrelationData> confirmations = new ArrayList<>(batch.size());
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingEvent pendingEvent : batch) {
+                    CorrelationData correlationData = new CorrelationData();
+                    long started = System.nanoTime();
+                    correlationData.getFuture().whenComplete((confirm, error) -> confirmLatency
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+                    operations.convertAndSend(pendingEvent.exchange(), pendingEvent.routingKey(),
+                            pendingEvent.event(), correlationData);
+                    confirmations.add(correlationData);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Could not send batch of {} card events: {}", batch.size(), e.getMessage());
+        }
+        List<PendingEvent> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (i < confirmations.size() && isConfirmed(confirmations.get(i))) {
+                publishedCounter.increment();
+            } else {
+                retryOrDrop(batch.get(i), failed);
+            }
+        }
+        return failed;
+    }
+
+    private void retryOrDrop(PendingEvent pendingEvent, List<PendingEvent> retries) {
+        if (pendingEvent.attempts() + 1 >= maxAttempts) {
+            drop(pendingEvent, "broker did not confirm after " + maxAttempts + " attempts");
+            return;
+        }
+        retriedCounter.increment();
+        retries.add(pendingEvent.nextAttempt(System.nanoTime() + retryBackoff.toNanos()));
+    }
+
+    private boolean isConfirmed(CorrelationData correlationData) {
+        try {
+            CorrelationData.Confirm confirm = correlationData.getFuture()
+                    .get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return confirm.isAck() && correlationData.getReturned() == null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void drop(PendingEvent pendingEvent, String reason) {
+        droppedCounter.increment();
+        log.error("Dropped {} for {}: {}", pendingEvent.event().getClass().getSimpleName(),
+                pendingEvent.routingKey(), reason);
+    }
+
+    private record PendingEvent(String exchange, String routingKey, Object event, int attempts, long retryAt) {
+
+        private PendingEvent(String exchange, String routingKey, Object event) {
+            this(exchange, routingKey, event, 0, 0);
+        }
+
+        private PendingEvent nextAttempt(long retryAt) {
+            return new PendingEvent(exchange, routingKey, event, attempts + 1, retryAt);
+        }
+
+    }
+
+}
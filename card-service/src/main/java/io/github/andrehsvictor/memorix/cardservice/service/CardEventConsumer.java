@@ -1,11 +1,17 @@
 package io.github.andrehsvictor.memorix.cardservice.service;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
 import io.github.andrehsvictor.memorix.cardservice.event.DeckDeletedEvent;
+import io.github.andrehsvictor.memorix.cardservice.event.DeckUpdatedEvent;
+import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapper;
 import io.github.andrehsvictor.memorix.cardservice.repository.CardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,12 +21,60 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CardEventConsumer {
 
+    private final DeckPurgeWorker deckPurgeWorker;
+    private final DeckExistenceCache deckExistenceCache;
     private final CardRepository cardRepository;
+    private final CardMapper cardMapper;
 
     @RabbitListener(queues = { "deck.deleted" })
     public void handleDeckDeletedEvent(DeckDeletedEvent event) {
-        long count = cardRepository.deleteAllByDeckId(UUID.fromString(event.getDeckId()));
-        log.info("Deleted {} cards associated with deck ID {}", count, event.getDeckId());
+        List<UUID> deckIds = toDeckIds(event);
+        if (deckIds.isEmpty()) {
+            log.warn("Ignoring DeckDeletedEvent without deck IDs");
+            return;
+        }
+        deckPurgeWorker.scheduleAll(deckIds);
+    }
+
+    @RabbitListener(queues = { "#{deckDeletedCacheQueue.name}" })
+    public void evictDeletedDecks(DeckDeletedEvent event) {
+        try {
+            toDeckIds(event).forEach(deckExistenceCache::evict);
+        } catch (RuntimeException e) {
+            // Per-instance queues have no dead-letter queue; the shared queue's listener reports it
+            log.warn("Not evicting decks of malformed DeckDeletedEvent: {}", e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = { "#{deckUpdatedCacheQueue.name}" })
+    public void refreshUpdatedDeck(DeckUpdatedEvent event) {
+        try {
+            deckExistenceCache.update(cardMapper.deckUpdatedEventToDeckSummaryDto(event));
+        } catch (RuntimeException e) {
+            log.warn("Not refreshing deck of malformed DeckUpdatedEvent: {}", e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = { "deck.updated" })
+    public void handleDeckUpdatedEvent(DeckUpdatedEvent event) {
+        DeckSummaryDto deck = cardMapper.deckUpdatedEventToDeckSummaryDto(event);
+        // Refresh the cache first, so cards created from now on are not given the old summary
+        deckExistenceCache.update(deck);
+        long count = cardRepository.updateDeckByDeckId(deck);
+        log.debug("Synced deck with ID {} into {} cards", event.getDeckId(), count);
+    }
+
+    /**
+     * The distinct IDs of the decks an event deletes, from both its single and its batch field.
+     */
+    public static List<UUID> toDeckIds(DeckDeletedEvent event) {
+        return Stream.concat(
+                Stream.ofNullable(event.getDeckId()),
+                event.getDeckIds() == null ? Stream.empty() : event.getDeckIds().stream())
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(UUID::fromString)
+                .toList();
     }
 
 }
@@ -1,9 +1,7 @@
 package io.github.andrehsvictor.memorix.cardservice.service;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
+import java.util.UUID;
+
 import org.springframework.stereotype.Service;
 
 import io.github.andrehsvictor.memorix.cardservice.event.CardCreatedEvent;
@@ -16,38 +14,41 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CardEventProducer {
 
-    private final RabbitTemplate rabbitTemplate;
+    private static final String CARD_EXCHANGE = "card.exchange";
+
+    private final BatchingEventPublisher batchingEventPublisher;
 
-    @Async
-    @Retryable(value = Exception.class, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public void publishCardDeletedEvent(String cardId, String deckId) {
         CardDeletedEvent event = CardDeletedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
                 .cardId(cardId)
                 .deckId(deckId)
                 .timestamp(System.currentTimeMillis())
                 .build();
-        try {
-            rabbitTemplate.convertAndSend("card.deleted", event);
-            log.info("Published CardDeletedEvent for card with ID {}", cardId);
-        } catch (Exception e) {
-            throw e;
-        }
+        batchingEventPublisher.publish(CARD_EXCHANGE, "card.deleted", event);
+        log.info("Queued CardDeletedEvent for card with ID {}", cardId);
     }
 
-    @Async
-    @Retryable(value = Exception.class, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public void publishCardCreatedEvent(String cardId, String deckId) {
         CardCreatedEvent event = CardCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
                 .cardId(cardId)
                 .deckId(deckId)
                 .timestamp(System.currentTimeMillis())
                 .build();
-        try {
-            rabbitTemplate.convertAndSend("card.created", event);
-            log.info("Published CardCreatedEvent for card with ID {}", cardId);
-        } catch (Exception e) {
-            throw e;
-        }
+        batchingEventPublisher.publish(CARD_EXCHANGE, "card.created", event);
+        log.info("Queued CardCreatedEvent for card with ID {}", cardId);
+    }
+
+    public void publishCardsCreatedEvent(String deckId, int count) {
+        CardCreatedEvent event = CardCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .deckId(deckId)
+                .count(count)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        batchingEventPublisher.publish(CARD_EXCHANGE, "card.created", event);
+        log.info("Queued CardCreatedEvent for {} cards in deck with ID {}", count, deckId);
     }
 
 }
@@ -0,0 +1,216 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.CardImportErrorDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.CardImportResultDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapper;
+import io.github.andrehsvictor.memorix.cardservice.model.Card;
+import io.github.andrehsvictor.memorix.cardservice.repository.CardRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CardImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    private final DeckExistenceCache deckExistenceCache;
+    private final CardMapper cardMapper;
+    private final CardRepository cardRepository;
+    private final CardEventProducer cardEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public CardImportService(
+            DeckExistenceCache deckExistenceCache,
+            CardMapper cardMapper,
+            CardRepository cardRepository,
+            CardEventProducer cardEventPublisher,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${memorix.card-import.chunk-size:500}") int chunkSize,
+            @Value("${memorix.card-import.max-reported-errors:100}") int maxReportedErrors) {
+        this.deckExistenceCache = deckExistenceCache;
+        this.cardMapper = cardMapper;
+        this.cardRepository = cardRepository;
+        this.cardEventPublisher = cardEventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public CardImportResultDto importAll(UUID deckId, MediaType contentType, InputStream inputStream) {
+        DeckSummaryDto deck = deckExistenceCache.findById(deckId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found with ID: " + deckId));
+        ImportRun run = new ImportRun(deck);
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            if (TEXT_CSV.isCompatibleWith(contentType)) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+            run.flush();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import body", e);
+        } finally {
+            if (run.imported > 0) {
+                cardEventPublisher.publishCardsCreatedEvent(deckId.toString(), run.imported);
+            }
+        }
+        log.info("Imported {} cards into deck with ID {} ({} rejected)", run.imported, deckId, run.failed);
+        return run.toResult();
+    }
+
+    private void readNdjson(Reader reader, ImportRun run) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        long lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(lineNumber, objectMapper.readValue(line, PostCardDto.class));
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(Reader reader, ImportRun run) throws IOException {
+        try (MappingIterator<String[]> rows = csvMapper
+                .readerFor(String[].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .readValues(reader)) {
+            if (!rows.hasNextValue()) {
+                return;
+            }
+            List<String> header = List.of(rows.nextValue()).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            int questionIndex = header.indexOf("question");
+            int answerIndex = header.indexOf("answer");
+            if (questionIndex < 0 || answerIndex < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "CSV header must contain 'question' and 'answer' columns");
+            }
+            while (rows.hasNextValue()) {
+                long lineNumber = rows.getCurrentLocation().getLineNr();
+                String[] row = rows.nextValue();
+                if (row.length == 0 || (row.length == 1 && row[0].isBlank())) {
+                    continue;
+                }
+                run.accept(lineNumber, PostCardDto.builder()
+                        .question(column(row, questionIndex))
+                        .answer(column(row, answerIndex))
+                        .build());
+            }
+        }
+    }
+
+    private static String column(String[] row, int index) {
+        return index < row.length ? row[index] : null;
+    }
+
+    private final class ImportRun {
+
+        private final DeckSummaryDto deck;
+        private final List<Card> chunk = new ArrayList<>(chunkSize);
+        private final List<CardImportErrorDto> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private ImportRun(DeckSummaryDto deck) {
+            this.deck = deck;
+        }
+
+        private void accept(long lineNumber, PostCardDto postCardDto) {
+            Set<ConstraintViolation<PostCardDto>> violations = validator.validate(postCardDto);
+            if (!violations.isEmpty()) {
+                reject(lineNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            Card card = cardMapper.postCardDtoToCard(postCardDto);
+            cardMapper.updateCardFromDeckSummaryDto(deck, card);
+            chunk.add(card);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void reject(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(CardImportErrorDto.builder()
+                        .line(lineNumber)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                imported += cardRepository.insertAll(chunk);
+            } catch (BulkOperationException e) {
+                imported += e.getResult().getInsertedCount();
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Import stopped after " + imported + " cards were created", e);
+            } finally {
+                chunk.clear();
+            }
+        }
+
+        private CardImportResultDto toResult() {
+            return CardImportResultDto.builder()
+                    .deckId(deck.getId())
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+
+    }
+
+}
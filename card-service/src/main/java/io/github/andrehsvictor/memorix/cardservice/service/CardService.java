@@ -1,40 +1,86 @@
 package io.github.andrehsvictor.memorix.cardservice.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.CardSearchResultDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.CardWithDeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.CursorPageDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.KeysetCursor;
 import io.github.andrehsvictor.memorix.cardservice.dto.PostCardDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.PostCardsDto;
 import io.github.andrehsvictor.memorix.cardservice.dto.PutCardDto;
 import io.github.andrehsvictor.memorix.cardservice.mapper.CardMapper;
 import io.github.andrehsvictor.memorix.cardservice.model.Card;
 import io.github.andrehsvictor.memorix.cardservice.repository.CardRepository;
+import io.github.andrehsvictor.memorix.cardservice.repository.CardSearchHit;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class CardService {
 
-    private final DeckService deckService;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int QUESTION_SNIPPET_LENGTH = 120;
+
+    private final DeckExistenceCache deckExistenceCache;
+    private final DeckTombstones deckTombstones;
     private final CardMapper cardMapper;
     private final CardRepository cardRepository;
     private final CardEventProducer cardEventPublisher;
+    private final ObjectMapper objectMapper;
 
     public CardWithDeckDto getById(UUID id) {
         return cardRepository.findById(id)
-                .map(cardMapper::cardToCardWithDeckDto)
+                .filter(card -> !deckTombstones.contains(card.getDeckId()))
+                .map(card -> withDecks(List.of(card)).get(0))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found with ID: " + id));
     }
 
     public Page<CardWithDeckDto> getAll(Pageable pageable) {
-        return cardRepository.findAll(pageable)
-                .map(cardMapper::cardToCardWithDeckDto);
+        Set<UUID> purgingDeckIds = deckTombstones.snapshot();
+        Page<Card> cards = purgingDeckIds.isEmpty()
+                ? cardRepository.findAll(pageable)
+                : cardRepository.findAllExcludingDeckIds(purgingDeckIds, pageable);
+        Map<UUID, DeckSummaryDto> decks = findUnsyncedDecks(cards.getContent());
+        return cards.map(card -> toCardWithDeckDto(card, decks));
+    }
+
+    public Card getVersionById(UUID id) {
+        return cardRepository.findVersionById(id)
+                .filter(card -> !deckTombstones.contains(card.getDeckId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found with ID: " + id));
+    }
+
+    public Page<Card> getAllVersions(Pageable pageable) {
+        return cardRepository.findAllVersions(null, deckTombstones.snapshot(), pageable);
+    }
+
+    public Page<Card> getAllVersionsByDeckId(UUID deckId, Pageable pageable) {
+        deckExistsById(deckId);
+        return cardRepository.findAllVersions(deckId, Set.of(), pageable);
     }
 
     public Page<Card> getAllByDeckId(UUID deckId, Pageable pageable) {
@@ -42,20 +88,78 @@ public class CardService {
         return cardRepository.findAllByDeckId(deckId, pageable);
     }
 
+    public CursorPageDto<CardWithDeckDto> getAllByCursor(String cursor, int size, Sort.Direction direction) {
+        CursorPageDto<Card> page = findAllByCursor(null, cursor, size, direction);
+        return CursorPageDto.<CardWithDeckDto>builder()
+                .content(withDecks(page.getContent()))
+                .size(page.getSize())
+                .hasNext(page.isHasNext())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public CursorPageDto<Card> getAllByDeckIdByCursor(UUID deckId, String cursor, int size, Sort.Direction direction) {
+        deckExistsById(deckId);
+        return findAllByCursor(deckId, cursor, size, direction);
+    }
+
+    public List<CardSearchResultDto> search(String query, UUID deckId, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return cardRepository.search(query, deckId, deckTombstones.snapshot(), Math.clamp(limit, 1, MAX_SEARCH_RESULTS))
+                .stream()
+                .map(this::toSearchResult)
+                .toList();
+    }
+
+    public StreamingResponseBody exportAllByDeckId(UUID deckId) {
+        deckExistsById(deckId);
+        return outputStream -> writeAllByDeckId(deckId, outputStream);
+    }
+
+    public StreamingResponseBody exportCardsCounts() {
+        return this::writeCardsCounts;
+    }
+
     @Transactional
     public CardWithDeckDto create(UUID deckId, PostCardDto postCardDto) {
-        deckExistsById(deckId);
+        DeckSummaryDto deck = getDeckSummary(deckId);
         Card card = cardMapper.postCardDtoToCard(postCardDto);
-        card.setDeckId(deckId);
+        cardMapper.updateCardFromDeckSummaryDto(deck, card);
         Card savedCard = cardRepository.save(card);
         cardEventPublisher.publishCardCreatedEvent(savedCard.getId().toString(), deckId.toString());
         return cardMapper.cardToCardWithDeckDto(savedCard);
     }
 
+    @Transactional
+    public List<CardWithDeckDto> createAll(UUID deckId, PostCardsDto postCardsDto) {
+        DeckSummaryDto deck = getDeckSummary(deckId);
+        List<Card> cards = postCardsDto.getCards().stream()
+                .map(cardMapper::postCardDtoToCard)
+                .peek(card -> cardMapper.updateCardFromDeckSummaryDto(deck, card))
+                .toList();
+        try {
+            int inserted = cardRepository.insertAll(cards);
+            cardEventPublisher.publishCardsCreatedEvent(deckId.toString(), inserted);
+        } catch (BulkOperationException e) {
+            int inserted = e.getResult().getInsertedCount();
+            if (inserted > 0) {
+                cardEventPublisher.publishCardsCreatedEvent(deckId.toString(), inserted);
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Only " + inserted + " of " + cards.size() + " cards were created", e);
+        }
+        return cards.stream()
+                .map(cardMapper::cardToCardWithDeckDto)
+                .toList();
+    }
+
     @Transactional
     public CardWithDeckDto update(UUID id, PutCardDto putCardDto) {
         Card existingCard = getEntityById(id);
         Card updatedCard = cardMapper.updateCardFromPutCardDto(putCardDto, existingCard);
+        updatedCard.setUpdatedAt(Instant.now());
         Card savedCard = cardRepository.save(updatedCard);
         return cardMapper.cardToCardWithDeckDto(savedCard);
     }
@@ -68,13 +172,94 @@ public class CardService {
                 existingCard.getDeckId().toString());
     }
 
+    private CursorPageDto<Card> findAllByCursor(UUID deckId, String cursor, int size, Sort.Direction direction) {
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        Sort.Direction order = after != null ? after.direction() : direction;
+        List<Card> cards = cardRepository.findAllByKeyset(deckId, deckTombstones.snapshot(), after, order,
+                limit + 1);
+        boolean hasNext = cards.size() > limit;
+        List<Card> content = hasNext ? cards.subList(0, limit) : cards;
+        Card last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return CursorPageDto.<Card>builder()
+                .content(content)
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new KeysetCursor(order, last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    private List<CardWithDeckDto> withDecks(List<Card> cards) {
+        Map<UUID, DeckSummaryDto> decks = findUnsyncedDecks(cards);
+        return cards.stream()
+                .map(card -> toCardWithDeckDto(card, decks))
+                .toList();
+    }
+
+    private Map<UUID, DeckSummaryDto> findUnsyncedDecks(List<Card> cards) {
+        List<UUID> deckIds = cards.stream()
+                .filter(card -> card.getDeckSyncedAt() == null)
+                .map(Card::getDeckId)
+                .toList();
+        return deckIds.isEmpty() ? Map.of() : deckExistenceCache.getAllByIds(deckIds);
+    }
+
+    private CardWithDeckDto toCardWithDeckDto(Card card, Map<UUID, DeckSummaryDto> decks) {
+        CardWithDeckDto cardWithDeckDto = cardMapper.cardToCardWithDeckDto(card);
+        if (cardWithDeckDto.getDeck() == null) {
+            cardWithDeckDto.setDeck(decks.get(card.getDeckId()));
+        }
+        return cardWithDeckDto;
+    }
+
+    private void writeAllByDeckId(UUID deckId, OutputStream outputStream) throws IOException {
+        try (Stream<Card> cards = cardRepository.streamAllByDeckId(deckId);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (Card card : (Iterable<Card>) cards::iterator) {
+                generator.writeObject(card);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCardsCounts(OutputStream outputStream) throws IOException {
+        try (Stream<DeckCardsCountDto> counts = cardRepository.streamCardsCountsByDeckId();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (DeckCardsCountDto count : (Iterable<DeckCardsCountDto>) counts::iterator) {
+                generator.writeObject(count);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private CardSearchResultDto toSearchResult(CardSearchHit hit) {
+        String question = hit.getQuestion();
+        String snippet = question != null && question.length() > QUESTION_SNIPPET_LENGTH
+                ? question.substring(0, QUESTION_SNIPPET_LENGTH) + "…"
+                : question;
+        return CardSearchResultDto.builder()
+                .id(hit.getId())
+                .questionSnippet(snippet)
+                .deckId(hit.getDeckId())
+                .score(hit.getScore())
+                .build();
+    }
+
     private Card getEntityById(UUID id) {
         return cardRepository.findById(id)
+                .filter(card -> !deckTombstones.contains(card.getDeckId()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found with ID: " + id));
     }
 
+    private DeckSummaryDto getDeckSummary(UUID deckId) {
+        return deckExistenceCache.findById(deckId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found with ID: " + deckId));
+    }
+
     private void deckExistsById(UUID deckId) {
-        if (!deckService.existsById(deckId)) {
+        if (!deckExistenceCache.existsById(deckId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found with ID: " + deckId);
         }
     }
@@ -0,0 +1,144 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupRequestDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches whether decks exist and, once a lookup has fetched it, each deck's summary, so creating
+ * cards does not need a call to deck-service. Every instance receives deck.updated and deck.deleted
+ * on its own queue, so summaries stay current and deleted decks are evicted everywhere, not only
+ * on the instance that purges their cards.
+ */
+@Slf4j
+@Component
+public class DeckExistenceCache {
+
+    private static final int MAX_LOOKUP_SIZE = 500;
+
+    private final ResilientDeckService deckService;
+    private final DeckTombstones deckTombstones;
+    private final Cache<UUID, CachedDeck> cache;
+
+    public DeckExistenceCache(
+            ResilientDeckService deckService,
+            DeckTombstones deckTombstones,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.deck-cache.maximum-size:10000}") long maximumSize,
+            @Value("${memorix.deck-cache.positive-ttl:5m}") Duration positiveTtl,
+            @Value("${memorix.deck-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.deckService = deckService;
+        this.deckTombstones = deckTombstones;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<UUID, CachedDeck>creating((id, deck) -> deck.exists() ? positiveTtl : negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "deckExistence");
+    }
+
+    /**
+     * Throws a 503 {@code ResponseStatusException} when deck-service cannot tell, rather than
+     * reporting the deck as missing.
+     */
+    public boolean existsById(UUID id) {
+        if (deckTombstones.contains(id)) {
+            return false;
+        }
+        return cache.get(id, deckId -> new CachedDeck(deckService.existsById(deckId), null)).exists();
+    }
+
+    /**
+     * Like {@link #getAllByIds(Collection)} for a single deck, but throws when deck-service is
+     * unavailable instead of leaving the deck out.
+     */
+    public Optional<DeckSummaryDto> findById(UUID id) {
+        if (deckTombstones.contains(id)) {
+            return Optional.empty();
+        }
+        CachedDeck cached = cache.getIfPresent(id);
+        if (cached != null && (!cached.exists() || cached.summary() != null)) {
+            return Optional.ofNullable(cached.summary());
+        }
+        return Optional.ofNullable(lookup(List.of(id)).get(id));
+    }
+
+    public Map<UUID, DeckSummaryDto> getAllByIds(Collection<UUID> ids) {
+        Map<UUID, DeckSummaryDto> decks = new HashMap<>();
+        List<UUID> uncachedIds = new ArrayList<>();
+        ids.stream()
+                .distinct()
+                .filter(id -> !deckTombstones.contains(id))
+                .forEach(id -> {
+                    CachedDeck cached = cache.getIfPresent(id);
+                    if (cached == null || cached.exists() && cached.summary() == null) {
+                        uncachedIds.add(id);
+                    } else if (cached.exists()) {
+                        decks.put(id, cached.summary());
+                    }
+                });
+        for (int from = 0; from < uncachedIds.size(); from += MAX_LOOKUP_SIZE) {
+            List<UUID> chunk = new ArrayList<>(
+                    uncachedIds.subList(from, Math.min(from + MAX_LOOKUP_SIZE, uncachedIds.size())));
+            try {
+                decks.putAll(lookup(chunk));
+            } catch (Exception e) {
+                log.warn("Could not look up {} decks: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return decks;
+    }
+
+    /**
+     * Refreshes a cached deck's summary, unless the cache already holds a newer version. Decks
+     * that are not cached are left out, so updates to unrelated decks do not evict hot ones.
+     */
+    public void update(DeckSummaryDto deck) {
+        cache.asMap().computeIfPresent(deck.getId(), (id, cached) -> newest(cached, deck));
+    }
+
+    public void evict(UUID id) {
+        cache.invalidate(id);
+    }
+
+    private Map<UUID, DeckSummaryDto> lookup(List<UUID> ids) {
+        DeckLookupDto lookup = deckService.lookup(DeckLookupRequestDto.builder().ids(ids).build());
+        Map<UUID, DeckSummaryDto> decks = new HashMap<>();
+        lookup.getDecks().forEach(deck -> {
+            decks.put(deck.getId(), deck);
+            cache.asMap().compute(deck.getId(), (id, cached) -> newest(cached, deck));
+        });
+        lookup.getMissingIds().forEach(id -> cache.put(id, new CachedDeck(false, null)));
+        return decks;
+    }
+
+    private static CachedDeck newest(CachedDeck cached, DeckSummaryDto deck) {
+        boolean cachedIsNewer = cached != null && cached.summary() != null
+                && cached.summary().getVersion() != null && deck.getVersion() != null
+                && cached.summary().getVersion() > deck.getVersion();
+        return cachedIsNewer ? cached : new CachedDeck(true, deck);
+    }
+
+    private record CachedDeck(boolean exists, DeckSummaryDto summary) {
+    }
+
+}
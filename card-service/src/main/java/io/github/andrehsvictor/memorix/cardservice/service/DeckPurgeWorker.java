@@ -0,0 +1,101 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.andrehsvictor.memorix.cardservice.model.DeckPurge;
+import io.github.andrehsvictor.memorix.cardservice.repository.CardRepository;
+import io.github.andrehsvictor.memorix.cardservice.repository.DeckPurgeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class DeckPurgeWorker {
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final CardRepository cardRepository;
+    private final DeckPurgeRepository deckPurgeRepository;
+    private final DeckTombstones deckTombstones;
+    private final Counter deletedCounter;
+    private final Timer chunkTimer;
+    private final int chunkSize;
+    private final int claimSize;
+    private final int maxChunksPerRun;
+    private final Duration lease;
+
+    public DeckPurgeWorker(
+            CardRepository cardRepository,
+            DeckPurgeRepository deckPurgeRepository,
+            DeckTombstones deckTombstones,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.deck-purge.chunk-size:1000}") int chunkSize,
+            @Value("${memorix.deck-purge.claim-size:100}") int claimSize,
+            @Value("${memorix.deck-purge.max-chunks-per-run:50}") int maxChunksPerRun,
+            @Value("${memorix.deck-purge.lease:60s}") Duration lease) {
+        this.cardRepository = cardRepository;
+        this.deckPurgeRepository = deckPurgeRepository;
+        this.deckTombstones = deckTombstones;
+        this.deletedCounter = meterRegistry.counter("memorix.deck-purge.cards.deleted");
+        this.chunkTimer = meterRegistry.timer("memorix.deck-purge.chunk");
+        this.chunkSize = chunkSize;
+        this.claimSize = claimSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.lease = lease;
+    }
+
+    public void scheduleAll(Collection<UUID> deckIds) {
+        deckPurgeRepository.createAllIfAbsent(deckIds);
+        deckIds.forEach(deckTombstones::add);
+        log.info("Scheduled purge of cards associated with {} decks", deckIds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${memorix.deck-purge.poll-interval:1s}")
+    public void purge() {
+        int chunks = 0;
+        while (chunks < maxChunksPerRun) {
+            List<DeckPurge> claimed = deckPurgeRepository.claimNext(owner, lease, claimSize);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            chunks += purge(claimed, maxChunksPerRun - chunks);
+        }
+    }
+
+    private int purge(List<DeckPurge> deckPurges, int chunkBudget) {
+        List<UUID> deckIds = deckPurges.stream().map(DeckPurge::getDeckId).toList();
+        long deletedCount = deckPurges.stream().mapToLong(DeckPurge::getDeletedCount).sum();
+        for (int chunk = 1; chunk <= chunkBudget; chunk++) {
+            Map<UUID, Integer> deletedByDeckId = chunkTimer.record(
+                    () -> cardRepository.deleteChunkByDeckIds(deckIds, chunkSize));
+            int deleted = deletedByDeckId.values().stream().mapToInt(Integer::intValue).sum();
+            deletedCounter.increment(deleted);
+            deletedCount += deleted;
+            if (deleted < chunkSize) {
+                deckPurgeRepository.complete(deckIds, owner);
+                deckIds.forEach(deckTombstones::remove);
+                log.info("Deleted {} cards associated with {} decks", deletedCount, deckIds.size());
+                return chunk;
+            }
+            if (!deckPurgeRepository.checkpoint(deckIds, deletedByDeckId, owner, lease)) {
+                log.warn("Lost lease on purge of {} decks, leaving them to another instance", deckIds.size());
+                return chunk;
+            }
+        }
+        // Out of budget mid-purge: give the decks back so the next poll, here or on another
+        // instance, carries on instead of waiting for the lease to expire.
+        deckPurgeRepository.release(deckIds, owner);
+        return chunkBudget;
+    }
+
+}
@@ -6,10 +6,15 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import feign.FeignException;
 import io.github.andrehsvictor.memorix.cardservice.dto.DeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupRequestDto;
 
 @FeignClient(name = "deck-service")
 public interface DeckService {
@@ -17,13 +22,16 @@ public interface DeckService {
     @GetMapping("/api/v2/decks/{id}")
     DeckDto getById(@PathVariable UUID id);
 
+    @PostMapping("/api/v2/decks/lookup")
+    DeckLookupDto lookup(@RequestBody DeckLookupRequestDto deckLookupRequestDto);
+
     @RequestMapping(value = "/api/v2/decks/{id}", method = RequestMethod.HEAD)
     ResponseEntity<Void> checkIfExists(@PathVariable UUID id);
 
     default boolean existsById(UUID id) {
         try {
             return checkIfExists(id).getStatusCode().is2xxSuccessful();
-        } catch (Exception e) {
+        } catch (FeignException.NotFound e) {
             return false;
         }
     }
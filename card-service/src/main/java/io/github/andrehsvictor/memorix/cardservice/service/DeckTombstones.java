@@ -0,0 +1,53 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.andrehsvictor.memorix.cardservice.repository.DeckPurgeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class DeckTombstones {
+
+    private final DeckPurgeRepository deckPurgeRepository;
+    private volatile Set<UUID> deckIds = ConcurrentHashMap.newKeySet();
+
+    public DeckTombstones(DeckPurgeRepository deckPurgeRepository, MeterRegistry meterRegistry) {
+        this.deckPurgeRepository = deckPurgeRepository;
+        meterRegistry.gauge("memorix.deck-purge.backlog", this, tombstones -> tombstones.deckIds.size());
+    }
+
+    public boolean contains(UUID deckId) {
+        return deckId != null && deckIds.contains(deckId);
+    }
+
+    public Set<UUID> snapshot() {
+        return Set.copyOf(deckIds);
+    }
+
+    void add(UUID deckId) {
+        deckIds.add(deckId);
+    }
+
+    void remove(UUID deckId) {
+        deckIds.remove(deckId);
+    }
+
+    @Scheduled(fixedDelayString = "${memorix.deck-purge.refresh-interval:5s}")
+    public void refresh() {
+        try {
+            Set<UUID> refreshed = ConcurrentHashMap.newKeySet();
+            refreshed.addAll(deckPurgeRepository.findAllDeckIds());
+            deckIds = refreshed;
+        } catch (Exception e) {
+            log.warn("Could not refresh deck tombstones: {}", e.getMessage());
+        }
+    }
+
+}
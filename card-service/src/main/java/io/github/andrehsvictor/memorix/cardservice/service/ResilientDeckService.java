@@ -0,0 +1,265 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import feign.FeignException;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupRequestDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Calls deck-service through the {@code deck-service} bulkhead and circuit breaker configured
+ * under {@code resilience4j.*}. When hedging is enabled, a call that has not answered within the
+ * recent p95 latency is sent a second time; the load balancer steers it away from the instance
+ * still busy with the first, and whichever answers first wins while the other is interrupted. No
+ * hedge is sent while more than {@code max-bulkhead-usage} of the bulkhead is taken. Failures
+ * surface as 503 instead of being mistaken for a missing deck.
+ */
+@Slf4j
+@Component
+public class ResilientDeckService implements DisposableBean {
+
+    private static final String NAME = "deck-service";
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final DeckService deckService;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Timer latency;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final boolean hedgingEnabled;
+    private final double hedgingPercentile;
+    private final double maxHedgingBulkheadUsage;
+    private final long minHedgeDelayNanos;
+    private final long maxHedgeDelayNanos;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayUpdatedAt = System.nanoTime();
+
+    public ResilientDeckService(
+            DeckService deckService,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.deck-client.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${memorix.deck-client.hedging.percentile:0.95}") double hedgingPercentile,
+            @Value("${memorix.deck-client.hedging.min-delay:20ms}") Duration minHedgeDelay,
+            @Value("${memorix.deck-client.hedging.max-delay:500ms}") Duration maxHedgeDelay,
+            @Value("${memorix.deck-client.hedging.max-bulkhead-usage:0.5}") double maxHedgingBulkheadUsage) {
+        this.deckService = deckService;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        this.latency = Timer.builder("memorix.deck-client.latency")
+                .publishPercentiles(hedgingPercentile)
+                .register(meterRegistry);
+        this.hedgesSent = meterRegistry.counter("memorix.deck-client.hedges", "result", "sent");
+        this.hedgesWon = meterRegistry.counter("memorix.deck-client.hedges", "result", "won");
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingPercentile = hedgingPercentile;
+        this.maxHedgingBulkheadUsage = maxHedgingBulkheadUsage;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.maxHedgeDelayNanos = maxHedgeDelay.toNanos();
+        this.hedgeDelayNanos = maxHedgeDelayNanos;
+    }
+
+    public boolean existsById(UUID id) {
+        return call(() -> deckService.existsById(id));
+    }
+
+    public DeckLookupDto lookup(DeckLookupRequestDto deckLookupRequestDto) {
+        return call(() -> deckService.lookup(deckLookupRequestDto));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Supplier<T> request) {
+        Supplier<T> attempt = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, cancellable(timed(request))));
+        if (!hedgingEnabled) {
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                throw translate(e);
+            }
+        }
+        return hedged(attempt);
+    }
+
+    private <T> T hedged(Supplier<T> attempt) {
+        Attempt<T> primary = start(attempt);
+        try {
+            return primary.result().get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual: race a second attempt against the first, unless the bulkhead is
+            // already so busy that a duplicate call would crowd out other requests.
+            if (busyCalls() > maxHedgingBulkheadUsage * bulkhead.getBulkheadConfig().getMaxConcurrentCalls()) {
+                return await(primary.result());
+            }
+        } catch (ExecutionException e) {
+            throw translate(e.getCause());
+        } catch (InterruptedException e) {
+            primary.task().cancel(true);
+            Thread.currentThread().interrupt();
+            throw translate(e);
+        }
+        hedgesSent.increment();
+        Attempt<T> hedge = start(attempt);
+        CompletableFuture<Answer<T>> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.result().whenComplete((result, failure) -> settle(first, failures, result, failure, false));
+        hedge.result().whenComplete((result, failure) -> settle(first, failures, result, failure, true));
+        try {
+            Answer<T> answer = await(first);
+            if (answer.hedged()) {
+                hedgesWon.increment();
+            }
+            return answer.result();
+        } finally {
+            // Interrupt the loser so it gives back its bulkhead permit and virtual thread now
+            // rather than at the read timeout.
+            primary.task().cancel(true);
+            hedge.task().cancel(true);
+        }
+    }
+
+    private <T> Attempt<T> start(Supplier<T> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(attempt.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw translate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw translate(e);
+        }
+    }
+
+    private int busyCalls() {
+        return bulkhead.getBulkheadConfig().getMaxConcurrentCalls()
+                - bulkhead.getMetrics().getAvailableConcurrentCalls();
+    }
+
+    /**
+     * Completes {@code first} with the first result, tagged with whether it came from the hedge,
+     * or with the last failure once both attempts have failed.
+     */
+    private static <T> void settle(CompletableFuture<Answer<T>> first, AtomicInteger failures, T result,
+            Throwable failure, boolean hedged) {
+        if (failure == null) {
+            first.complete(new Answer<>(result, hedged));
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Reports an attempt interrupted because the other one of its hedge pair answered as
+     * cancelled, which the circuit breaker is configured to ignore, rather than as a deck-service
+     * failure.
+     */
+    private static <T> Supplier<T> cancellable(Supplier<T> request) {
+        return () -> {
+            try {
+                return request.get();
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Hedged deck-service call cancelled");
+                }
+                throw e;
+            }
+        };
+    }
+
+    private <T> Supplier<T> timed(Supplier<T> request) {
+        return () -> {
+            long started = System.nanoTime();
+            T result = request.get();
+            latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
+        };
+    }
+
+    private long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayUpdatedAt > HEDGE_DELAY_REFRESH_NANOS) {
+            double observed = maxHedgeDelayNanos;
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == hedgingPercentile && value.value() > 0) {
+                    observed = value.value(TimeUnit.NANOSECONDS);
+                }
+            }
+            hedgeDelayNanos = Math.clamp((long) observed, minHedgeDelayNanos, maxHedgeDelayNanos);
+            hedgeDelayUpdatedAt = now;
+        }
+        return hedgeDelayNanos;
+    }
+
+    private static RuntimeException translate(Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof FeignException.FeignClientException e) {
+            // Answers about the request itself keep their status instead of surfacing as a 500
+            return new ResponseStatusException(HttpStatusCode.valueOf(e.status()), null, e);
+        }
+        String reason = switch (failure) {
+            case CallNotPermittedException e -> "Deck service circuit breaker is open";
+            case BulkheadFullException e -> "Too many concurrent calls to deck service";
+            default -> "Deck service unavailable";
+        };
+        log.debug("{}: {}", reason, failure.toString());
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason, failure);
+    }
+
+    private record Answer<T>(T result, boolean hedged) {
+    }
+
+    private record Attempt<T>(CompletableFuture<T> result, Future<?> task) {
+    }
+
+}
@@ -0,0 +1,96 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.andrehsvictor.memorix.cardservice.model.DeckPurge;
+import io.github.andrehsvictor.memorix.cardservice.repository.CardRepository;
+import io.github.andrehsvictor.memorix.cardservice.repository.DeckPurgeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the worker against an in-memory purge queue holding one deck with a live lease flag.
+ */
+class DeckPurgeWorkerTests {
+
+    private static final int CHUNK_SIZE = 10;
+    private static final int MAX_CHUNKS_PER_RUN = 2;
+
+    private final UUID deckId = UUID.randomUUID();
+    private final AtomicInteger remainingCards = new AtomicInteger();
+    private final AtomicBoolean leased = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private final AtomicLong checkpointedCards = new AtomicLong();
+
+    @Test
+    void finishesADeckLargerThanOneRunsBudgetOnTheNextPoll() {
+        remainingCards.set(MAX_CHUNKS_PER_RUN * CHUNK_SIZE + 5);
+        DeckPurgeWorker worker = create();
+
+        worker.purge();
+        assertEquals(5, remainingCards.get());
+        assertEquals(MAX_CHUNKS_PER_RUN * CHUNK_SIZE, checkpointedCards.get());
+        assertFalse(completed.get());
+        assertFalse(leased.get());
+
+        worker.purge();
+        assertEquals(0, remainingCards.get());
+        assertTrue(completed.get());
+    }
+
+    private DeckPurge claimed() {
+        DeckPurge deckPurge = new DeckPurge();
+        deckPurge.setDeckId(deckId);
+        deckPurge.setDeletedCount(checkpointedCards.get());
+        return deckPurge;
+    }
+
+    private DeckPurgeWorker create() {
+        CardRepository cardRepository = mock(CardRepository.class);
+        when(cardRepository.deleteChunkByDeckIds(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            int deleted = Math.min(remainingCards.get(), invocation.<Integer>getArgument(1));
+            remainingCards.addAndGet(-deleted);
+            return deleted == 0 ? Map.of() : Map.of(deckId, deleted);
+        });
+        DeckPurgeRepository deckPurgeRepository = mock(DeckPurgeRepository.class);
+        when(deckPurgeRepository.claimNext(anyString(), any(), anyInt())).thenAnswer(invocation ->
+                !completed.get() && leased.compareAndSet(false, true) ? List.of(claimed()) : List.of());
+        when(deckPurgeRepository.checkpoint(anyCollection(), anyMap(), anyString(), any())).thenAnswer(invocation -> {
+            checkpointedCards.addAndGet(invocation.<Map<UUID, Integer>>getArgument(1).getOrDefault(deckId, 0));
+            return leased.get();
+        });
+        doAnswer(invocation -> {
+            leased.set(false);
+            return null;
+        }).when(deckPurgeRepository).release(anyCollection(), anyString());
+        doAnswer(invocation -> {
+            completed.set(true);
+            leased.set(false);
+            return null;
+        }).when(deckPurgeRepository).complete(anyCollection(), anyString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new DeckPurgeWorker(cardRepository, deckPurgeRepository,
+                new DeckTombstones(deckPurgeRepository, meterRegistry), meterRegistry,
+                CHUNK_SIZE, 100, MAX_CHUNKS_PER_RUN, Duration.ofSeconds(60));
+    }
+
+}
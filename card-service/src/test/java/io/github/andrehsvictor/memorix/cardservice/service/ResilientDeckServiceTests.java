@@ -0,0 +1,136 @@
+package io.github.andrehsvictor.memorix.cardservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.cardservice.dto.DeckLookupRequestDto;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResilientDeckServiceTests {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.HEAD, "/api/v2/decks",
+            Map.of(), null, null, null);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final AtomicInteger calls = new AtomicInteger();
+    private ResilientDeckService resilientDeckService;
+
+    @AfterEach
+    void shutDown() {
+        resilientDeckService.destroy();
+    }
+
+    @Test
+    void reportsMissingDeckAsNotExisting() {
+        resilientDeckService = create(false, call -> {
+            throw new FeignException.NotFound("Not Found", REQUEST, null, null);
+        });
+        assertFalse(resilientDeckService.existsById(UUID.randomUUID()));
+    }
+
+    @Test
+    void reportsUnavailableDeckServiceAs503() {
+        resilientDeckService = create(false, call -> {
+            throw new RetryableException(-1, "Read timed out", Request.HttpMethod.HEAD, (Long) null, REQUEST);
+        });
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> resilientDeckService.existsById(UUID.randomUUID()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+
+        circuitBreakerRegistry.circuitBreaker("deck-service").transitionToOpenState();
+        int before = calls.get();
+        e = assertThrows(ResponseStatusException.class, () -> resilientDeckService.existsById(UUID.randomUUID()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals("Deck service circuit breaker is open", e.getReason());
+        assertEquals(before, calls.get());
+    }
+
+    @Test
+    void hedgesSlowCallsAndReturnsTheFirstAnswer() throws InterruptedException {
+        CountDownLatch loserInterrupted = new CountDownLatch(1);
+        resilientDeckService = create(true, call -> {
+            if (call == 1) {
+                try {
+                    Thread.sleep(Duration.ofSeconds(2));
+                } catch (InterruptedException e) {
+                    loserInterrupted.countDown();
+                }
+            }
+            return ResponseEntity.ok().build();
+        });
+        long started = System.nanoTime();
+        assertTrue(resilientDeckService.existsById(UUID.randomUUID()));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.counter("memorix.deck-client.hedges", "result", "won").count());
+        assertTrue(loserInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failsOnlyWhenBothAttemptsFail() {
+        resilientDeckService = create(true, call -> {
+            sleep(Duration.ofMillis(100));
+            throw new RetryableException(-1, "Connection refused", Request.HttpMethod.HEAD, (Long) null, REQUEST);
+        });
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> resilientDeckService.existsById(UUID.randomUUID()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals(2, calls.get());
+    }
+
+    private ResilientDeckService create(boolean hedging, IntFunction<ResponseEntity<Void>> checkIfExists) {
+        DeckService deckService = new DeckService() {
+
+            @Override
+            public DeckDto getById(UUID id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public DeckLookupDto lookup(DeckLookupRequestDto deckLookupRequestDto) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ResponseEntity<Void> checkIfExists(UUID id) {
+                return checkIfExists.apply(calls.incrementAndGet());
+            }
+
+        };
+        return new ResilientDeckService(deckService, circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                meterRegistry, hedging, 0.95, Duration.ofMillis(20), Duration.ofMillis(50), 0.5);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package io.github.andrehsvictor.memorix.deckservice.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${memorix.http.shared-max-age:5s}")
+    private Duration sharedMaxAge;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor webContentInterceptor = new WebContentInterceptor();
+        // Browsers revalidate every time; the gateway cache may serve a response for up to s-maxage.
+        webContentInterceptor.addCacheMapping(CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge), "/api/v2/**");
+        registry.addInterceptor(webContentInterceptor);
+    }
+
+}
@@ -1,10 +1,12 @@
 package io.github.andrehsvictor.memorix.deckservice.controller;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,11 +16,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import io.github.andrehsvictor.memorix.deckservice.dto.CursorPageDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckLookupRequestDto;
 import io.github.andrehsvictor.memorix.deckservice.dto.PostDeckDto;
 import io.github.andrehsvictor.memorix.deckservice.dto.PutDeckDto;
 import io.github.andrehsvictor.memorix.deckservice.model.Deck;
+import io.github.andrehsvictor.memorix.deckservice.repository.DeckVersion;
 import io.github.andrehsvictor.memorix.deckservice.service.DeckService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,24 +48,64 @@ public class DeckController {
     @Operation(summary = "Get deck by ID", description = "Retrieve a specific deck by its unique identifier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Deck found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Deck.class))),
+            @ApiResponse(responseCode = "304", description = "Deck not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(mediaType = "application/json"))
     })
     @GetMapping("/api/v2/decks/{id}")
     public Deck getById(
-            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id) {
+            @Parameter(description = "Deck unique identifier", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
+            @Parameter(hidden = true) WebRequest request) {
+        Instant updatedAt = deckService.getUpdatedAtById(id);
+        if (request.checkNotModified(ETags.of(id, updatedAt), updatedAt.toEpochMilli())) {
+            return null;
+        }
         return deckService.getById(id);
     }
 
     @Operation(summary = "Get all decks", description = "Retrieve a paginated list of all decks")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Decks retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+            @ApiResponse(responseCode = "200", description = "Decks retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag")
     })
     @GetMapping("/api/v2/decks")
     public Page<Deck> getAll(
-            @Parameter(description = "Pagination information") Pageable pageable) {
+            @Parameter(description = "Pagination information") Pageable pageable,
+            @Parameter(hidden = true) WebRequest request) {
+        Page<DeckVersion> versions = deckService.getAllVersions(pageable);
+        if (request.checkNotModified(ETags.of(versions.getTotalElements(), versions.getContent().stream()
+                .map(version -> version.getId() + "@" + version.getUpdatedAt())
+                .toList()))) {
+            return null;
+        }
         return deckService.getAll(pageable);
     }
 
+    @Operation(summary = "Get all decks by cursor", description = "Retrieve decks ordered by creation date using an opaque continuation token instead of page numbers; pass an empty cursor to get the first page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Decks retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(value = "/api/v2/decks", params = "cursor")
+    public CursorPageDto<Deck> getAllByCursor(
+            @Parameter(description = "Continuation token returned by the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of decks to return (1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Creation date ordering, only read on the first page") @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        return deckService.getAllByCursor(cursor, size, direction);
+    }
+
+    @Operation(summary = "Search decks", description = "Full-text search over deck names and descriptions, ranked by relevance and paged with an opaque continuation token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Decks retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/api/v2/decks/search")
+    public CursorPageDto<Deck> search(
+            @Parameter(description = "Search terms, each matched as a word prefix", required = true, example = "java") @RequestParam String q,
+            @Parameter(description = "Continuation token returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of decks to return (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return deckService.search(q, cursor, size);
+    }
+
     @Operation(summary = "Create new deck", description = "Create a new deck with the provided information")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Deck created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Deck.class))),
@@ -108,6 +156,17 @@ public class DeckController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Look up decks by IDs", description = "Resolve up to 500 deck identifiers at once, returning a summary of each existing deck and the identifiers that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Decks looked up successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeckLookupDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/api/v2/decks/lookup")
+    public DeckLookupDto lookup(
+            @Parameter(description = "Deck unique identifiers to look up", required = true) @Valid @RequestBody DeckLookupRequestDto deckLookupRequestDto) {
+        return deckService.lookup(deckLookupRequestDto.getIds());
+    }
+
     @Operation(summary = "Check if deck exists", description = "Check if a deck exists by its unique identifier using HEAD method")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Deck exists"),
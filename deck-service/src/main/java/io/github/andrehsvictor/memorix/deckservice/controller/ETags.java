@@ -0,0 +1,21 @@
+package io.github.andrehsvictor.memorix.deckservice.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.util.DigestUtils;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        String version = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+}
@@ -0,0 +1,20 @@
+package io.github.andrehsvictor.memorix.deckservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckLookupRequestDto {
+
+    @NotEmpty(message = "ids cannot be empty")
+    @Size(max = 500, message = "Cannot look up more than 500 decks at once")
+    private List<@NotNull(message = "ids cannot contain null") UUID> ids;
+
+}
@@ -0,0 +1,19 @@
+package io.github.andrehsvictor.memorix.deckservice.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeckSummaryDto {
+    private UUID id;
+    private String name;
+    private String coverImageUrl;
+    private String hexColor;
+    private Integer cardsCount;
+    private Instant updatedAt;
+    private Long version;
+}
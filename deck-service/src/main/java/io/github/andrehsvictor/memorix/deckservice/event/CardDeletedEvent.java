@@ -7,6 +7,7 @@ import lombok.Data;
 @Builder
 public class CardDeletedEvent {
 
+    private String eventId;
     private String cardId;
     private String deckId;
     private Long timestamp;
@@ -0,0 +1,6 @@
+package io.github.andrehsvictor.memorix.deckservice.event;
+
+import java.util.UUID;
+
+public record CardsCountDelta(UUID eventId, UUID deckId, int delta) {
+}
@@ -3,6 +3,7 @@ package io.github.andrehsvictor.memorix.deckservice.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckSummaryDto;
 import io.github.andrehsvictor.memorix.deckservice.dto.PostDeckDto;
 import io.github.andrehsvictor.memorix.deckservice.dto.PutDeckDto;
 import io.github.andrehsvictor.memorix.deckservice.model.Deck;
@@ -14,4 +15,6 @@ public interface DeckMapper {
 
     Deck updateDeckFromPutDeckDto(@MappingTarget Deck deck, PutDeckDto putDeckDto);
 
+    DeckSummaryDto deckToDeckSummaryDto(Deck deck);
+
 }
@@ -5,7 +5,9 @@ import java.time.Instant;
 import java.util.UUID;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.generator.EventType;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -49,4 +51,8 @@ public class Deck implements Serializable {
     @UpdateTimestamp
     private Instant updatedAt;
 
+    // Incremented by a database trigger on every update; read back after each write
+    @Generated(event = { EventType.INSERT, EventType.UPDATE })
+    private Long version;
+
 }
@@ -0,0 +1,6 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.util.UUID;
+
+public record CardsCountCorrection(UUID deckId, int expected, int actual) {
+}
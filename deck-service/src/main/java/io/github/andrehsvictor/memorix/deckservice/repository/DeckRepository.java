@@ -1,21 +1,57 @@
 package io.github.andrehsvictor.memorix.deckservice.repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import io.github.andrehsvictor.memorix.deckservice.model.Deck;
 
-public interface DeckRepository extends JpaRepository<Deck, UUID> {
+public interface DeckRepository extends JpaRepository<Deck, UUID>, DeckRepositoryCustom {
 
-    @Modifying
-    @Query("UPDATE Deck d SET d.cardsCount = d.cardsCount + 1 WHERE d.id = :id")
-    void incrementCardsCount(UUID id);
+    @Query("SELECT d.updatedAt FROM Deck d WHERE d.id = :id")
+    Optional<Instant> findUpdatedAtById(UUID id);
 
-    @Modifying
-    @Query("UPDATE Deck d SET d.cardsCount = d.cardsCount - 1 WHERE d.id = :id AND d.cardsCount > 0")
-    void decrementCardsCount(UUID id);
+    @Query("SELECT d.id AS id, d.updatedAt AS updatedAt FROM Deck d")
+    Page<DeckVersion> findAllVersions(Pageable pageable);
+
+    @Query(value = "SELECT * FROM deck ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Deck> findFirstByCreatedAtAsc(int limit);
+
+    @Query(value = "SELECT * FROM deck WHERE (created_at, id) > (:createdAt, :id) ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Deck> findAfterByCreatedAtAsc(Instant createdAt, UUID id, int limit);
+
+    @Query(value = "SELECT * FROM deck ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Deck> findFirstByCreatedAtDesc(int limit);
+
+    @Query(value = "SELECT * FROM deck WHERE (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Deck> findAfterByCreatedAtDesc(Instant createdAt, UUID id, int limit);
+
+    @Query(value = """
+            SELECT d.id AS id, ts_rank_cd(d.search_vector, query) AS rank
+            FROM deck d, to_tsquery('simple', :query) query
+            WHERE d.search_vector @@ query
+            ORDER BY rank DESC, d.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<DeckSearchHit> search(String query, int limit);
+
+    @Query(value = """
+            SELECT hits.id AS id, hits.rank AS rank
+            FROM (
+                SELECT d.id AS id, ts_rank_cd(d.search_vector, query) AS rank
+                FROM deck d, to_tsquery('simple', :query) query
+                WHERE d.search_vector @@ query
+            ) hits
+            WHERE hits.rank < CAST(:rank AS REAL) OR (hits.rank = CAST(:rank AS REAL) AND hits.id > :id)
+            ORDER BY hits.rank DESC, hits.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<DeckSearchHit> searchAfter(String query, float rank, UUID id, int limit);
 
 }
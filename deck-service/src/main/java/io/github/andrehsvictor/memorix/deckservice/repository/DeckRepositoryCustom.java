@@ -0,0 +1,21 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckSummaryDto;
+
+public interface DeckRepositoryCustom {
+
+    void applyCardsCountDeltas(Map<UUID, Integer> deltas);
+
+    List<DeckSummaryDto> findSummariesByIdIn(Collection<UUID> ids);
+
+    List<DeckCardsCountDto> findCardsCountsAfter(UUID after, int limit);
+
+    List<UUID> correctCardsCounts(List<CardsCountCorrection> corrections);
+
+}
@@ -0,0 +1,85 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckSummaryDto;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DeckRepositoryCustomImpl implements DeckRepositoryCustom {
+
+    private static final RowMapper<DeckCardsCountDto> CARDS_COUNT_ROW_MAPPER = (resultSet, rowNum) -> DeckCardsCountDto
+            .builder()
+            .deckId(resultSet.getObject("id", UUID.class))
+            .count(resultSet.getInt("cards_count"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyCardsCountDeltas(Map<UUID, Integer> deltas) {
+        List<Object[]> batchArgs = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .map(delta -> new Object[] { delta.getValue(), delta.getKey() })
+                .toList();
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE deck SET cards_count = GREATEST(cards_count + ?, 0), updated_at = clock_timestamp() WHERE id = ?", batchArgs);
+    }
+
+    @Override
+    public List<DeckSummaryDto> findSummariesByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT id, name, cover_image_url, hex_color, cards_count, updated_at, version FROM deck WHERE id = ANY(?)",
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids.toArray())),
+                (resultSet, rowNum) -> DeckSummaryDto.builder()
+                        .id(resultSet.getObject("id", UUID.class))
+                        .name(resultSet.getString("name"))
+                        .coverImageUrl(resultSet.getString("cover_image_url"))
+                        .hexColor(resultSet.getString("hex_color"))
+                        .cardsCount(resultSet.getInt("cards_count"))
+                        .updatedAt(resultSet.getTimestamp("updated_at").toInstant())
+                        .version(resultSet.getLong("version"))
+                        .build());
+    }
+
+    @Override
+    public List<DeckCardsCountDto> findCardsCountsAfter(UUID after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query("SELECT id, cards_count FROM deck ORDER BY id LIMIT ?",
+                    CARDS_COUNT_ROW_MAPPER, limit);
+        }
+        return jdbcTemplate.query("SELECT id, cards_count FROM deck WHERE id > ? ORDER BY id LIMIT ?",
+                CARDS_COUNT_ROW_MAPPER, after, limit);
+    }
+
+    @Override
+    public List<UUID> correctCardsCounts(List<CardsCountCorrection> corrections) {
+        if (corrections.isEmpty()) {
+            return List.of();
+        }
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE deck SET cards_count = ?, updated_at = clock_timestamp() WHERE id = ? AND cards_count = ?",
+                corrections.stream()
+                        .map(correction -> new Object[] { correction.actual(), correction.deckId(), correction.expected() })
+                        .toList());
+        // A correction whose expected count no longer matches updated nothing; an unknown count
+        // (SUCCESS_NO_INFO) is treated as applied
+        return IntStream.range(0, updated.length)
+                .filter(i -> updated[i] != 0)
+                .mapToObj(i -> corrections.get(i).deckId())
+                .toList();
+    }
+
+}
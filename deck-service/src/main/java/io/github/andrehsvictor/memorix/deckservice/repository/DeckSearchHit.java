@@ -0,0 +1,11 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.util.UUID;
+
+public interface DeckSearchHit {
+
+    UUID getId();
+
+    Float getRank();
+
+}
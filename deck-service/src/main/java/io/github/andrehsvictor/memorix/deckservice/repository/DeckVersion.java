@@ -0,0 +1,12 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface DeckVersion {
+
+    UUID getId();
+
+    Instant getUpdatedAt();
+
+}
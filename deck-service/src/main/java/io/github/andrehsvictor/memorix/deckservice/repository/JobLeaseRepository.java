@@ -0,0 +1,38 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.time.Duration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Named leases that let one replica at a time run a scheduled job. Expiry is judged by the
+ * database clock, so replicas with skewed clocks still agree on who holds a lease.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the lease if it is free, expired or already held by {@code owner}, in which case it
+     * is extended.
+     */
+    public boolean tryAcquire(String name, String owner, Duration lease) {
+        return jdbcTemplate.update("""
+                INSERT INTO job_lease (name, owner, lease_expires_at)
+                VALUES (?, ?, now() + make_interval(secs => ?))
+                ON CONFLICT (name) DO UPDATE
+                SET owner = EXCLUDED.owner, lease_expires_at = EXCLUDED.lease_expires_at
+                WHERE job_lease.owner = EXCLUDED.owner OR job_lease.lease_expires_at < now()
+                """, name, owner, lease.toMillis() / 1000.0) == 1;
+    }
+
+    public void release(String name, String owner) {
+        jdbcTemplate.update("DELETE FROM job_lease WHERE name = ? AND owner = ?", name, owner);
+    }
+
+}
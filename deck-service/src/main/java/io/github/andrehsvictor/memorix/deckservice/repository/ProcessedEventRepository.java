@@ -0,0 +1,47 @@
+package io.github.andrehsvictor.memorix.deckservice.repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ProcessedEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<UUID> markProcessed(Collection<UUID> eventIds) {
+        Set<UUID> marked = new HashSet<>();
+        if (eventIds.isEmpty()) {
+            return marked;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                    INSERT INTO processed_event (event_id)
+                    SELECT unnest(?)
+                    ON CONFLICT (event_id) DO NOTHING
+                    RETURNING event_id
+                    """);
+            Array ids = connection.createArrayOf("uuid", eventIds.toArray());
+            statement.setArray(1, ids);
+            return statement;
+        }, resultSet -> {
+            marked.add(resultSet.getObject(1, UUID.class));
+        });
+        return marked;
+    }
+
+    public int deleteProcessedBefore(Instant instant) {
+        return jdbcTemplate.update("DELETE FROM processed_event WHERE processed_at < ?", Timestamp.from(instant));
+    }
+
+}
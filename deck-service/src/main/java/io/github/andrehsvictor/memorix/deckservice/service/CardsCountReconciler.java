@@ -0,0 +1,173 @@
+package io.github.andrehsvictor.memorix.deckservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckCardsCountDto;
+import io.github.andrehsvictor.memorix.deckservice.repository.CardsCountCorrection;
+import io.github.andrehsvictor.memorix.deckservice.repository.DeckRepository;
+import io.github.andrehsvictor.memorix.deckservice.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares every deck's counter with card-service's actual card count and corrects drift that
+ * persists across runs. One replica at a time holds the job lease and keeps renewing it, so the
+ * same instance sees consecutive runs and its previous drift stays meaningful. Corrected decks are
+ * published as deck.updated so cards carrying the denormalized count pick up the new value.
+ */
+@Slf4j
+@Component
+public class CardsCountReconciler implements DisposableBean {
+
+    private static final String LEASE_NAME = "cards-count-reconciliation";
+
+    // Postgres and MongoDB both order UUIDs by their unsigned bytes, unlike UUID.compareTo
+    private static final Comparator<UUID> UNSIGNED_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final DeckRepository deckRepository;
+    private final DeckService deckService;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final Duration lease;
+    private final String cardsCountsUri;
+    private final int batchSize;
+    private final int maxTrackedDrift;
+    private final AtomicLong driftedDecks = new AtomicLong();
+    private final AtomicLong driftedCards = new AtomicLong();
+    private final Counter correctedCounter;
+
+    private Map<UUID, Integer> previousDrift = Map.of();
+    private boolean leading;
+
+    public CardsCountReconciler(
+            RestClient.Builder loadBalancedRestClientBuilder,
+            ObjectMapper objectMapper,
+            DeckRepository deckRepository,
+            DeckService deckService,
+            JobLeaseRepository jobLeaseRepository,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.cards-count-reconciliation.cards-counts-uri:http://card-service/internal/v2/cards/counts}") String cardsCountsUri,
+            @Value("${memorix.cards-count-reconciliation.batch-size:1000}") int batchSize,
+            @Value("${memorix.cards-count-reconciliation.max-tracked-drift:100000}") int maxTrackedDrift,
+            @Value("${memorix.cards-count-reconciliation.lease:2h}") Duration lease) {
+        this.restClient = loadBalancedRestClientBuilder.build();
+        this.objectMapper = objectMapper;
+        this.deckRepository = deckRepository;
+        this.deckService = deckService;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.lease = lease;
+        this.cardsCountsUri = cardsCountsUri;
+        this.batchSize = batchSize;
+        this.maxTrackedDrift = maxTrackedDrift;
+        this.correctedCounter = meterRegistry.counter("memorix.cards-count.reconciliation.corrected");
+        meterRegistry.gauge("memorix.cards-count.reconciliation.drift.decks", driftedDecks);
+        meterRegistry.gauge("memorix.cards-count.reconciliation.drift.cards", driftedCards);
+    }
+
+    @Scheduled(cron = "${memorix.cards-count-reconciliation.cron:0 0 * * * *}")
+    public void reconcile() {
+        try {
+            if (!jobLeaseRepository.tryAcquire(LEASE_NAME, owner, lease)) {
+                leading = false;
+                return;
+            }
+            if (!leading) {
+                // Drift seen before another replica held the lease is stale
+                previousDrift = Map.of();
+                leading = true;
+            }
+            restClient.get()
+                    .uri(cardsCountsUri)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IllegalStateException("Card counts request failed with " + response.getStatusCode());
+                        }
+                        try (MappingIterator<DeckCardsCountDto> counts = objectMapper
+                                .readerFor(DeckCardsCountDto.class)
+                                .readValues(response.getBody())) {
+                            reconcile(counts);
+                        }
+                        return null;
+                    });
+        } catch (Exception e) {
+            log.warn("Could not reconcile deck card counts: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            jobLeaseRepository.release(LEASE_NAME, owner);
+        } catch (Exception e) {
+            log.warn("Could not release card count reconciliation lease: {}", e.getMessage());
+        }
+    }
+
+    private void reconcile(Iterator<DeckCardsCountDto> counts) {
+        Map<UUID, Integer> drift = new HashMap<>();
+        DeckCardsCountDto next = counts.hasNext() ? counts.next() : null;
+        long scanned = 0;
+        long cards = 0;
+        int corrected = 0;
+        UUID after = null;
+        List<DeckCardsCountDto> decks;
+        do {
+            decks = deckRepository.findCardsCountsAfter(after, batchSize);
+            List<CardsCountCorrection> corrections = new ArrayList<>();
+            for (DeckCardsCountDto deck : decks) {
+                while (next != null && UNSIGNED_ORDER.compare(next.getDeckId(), deck.getDeckId()) < 0) {
+                    next = counts.hasNext() ? counts.next() : null;
+                }
+                int actual = next != null && next.getDeckId().equals(deck.getDeckId()) ? next.getCount() : 0;
+                int difference = actual - deck.getCount();
+                if (difference == 0) {
+                    continue;
+                }
+                cards += Math.abs(difference);
+                if (drift.size() < maxTrackedDrift) {
+                    drift.put(deck.getDeckId(), difference);
+                }
+                // Drift may just be events still in flight, so only correct a deck whose drift was
+                // exactly the same in the previous run too
+                if (Integer.valueOf(difference).equals(previousDrift.get(deck.getDeckId()))) {
+                    corrections.add(new CardsCountCorrection(deck.getDeckId(), deck.getCount(), actual));
+                }
+            }
+            corrected += deckService.correctCardsCounts(corrections);
+            scanned += decks.size();
+            after = decks.isEmpty() ? after : decks.get(decks.size() - 1).getDeckId();
+        } while (decks.size() == batchSize);
+        previousDrift = drift;
+        driftedDecks.set(drift.size());
+        driftedCards.set(cards);
+        correctedCounter.increment(corrected);
+        log.info("Reconciled card counts of {} decks: {} drifted by {} cards in total, {} corrected",
+                scanned, drift.size(), cards, corrected);
+    }
+
+}
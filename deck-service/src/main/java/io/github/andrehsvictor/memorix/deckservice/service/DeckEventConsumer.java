@@ -1,32 +1,105 @@
 package io.github.andrehsvictor.memorix.deckservice.service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import io.github.andrehsvictor.memorix.deckservice.event.CardCreatedEvent;
 import io.github.andrehsvictor.memorix.deckservice.event.CardDeletedEvent;
-import lombok.RequiredArgsConstructor;
+import io.github.andrehsvictor.memorix.deckservice.event.CardsCountDelta;
+import io.github.andrehsvictor.memorix.deckservice.repository.ProcessedEventRepository;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DeckEventConsumer {
 
+    private static final String CARD_DLX = "card.dlx";
+
     private final DeckService deckService;
+    private final ProcessedEventRepository processedEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final Duration dedupWindow;
+
+    public DeckEventConsumer(
+            DeckService deckService,
+            ProcessedEventRepository processedEventRepository,
+            RabbitTemplate rabbitTemplate,
+            @Value("${memorix.card-events.dedup-window:24h}") Duration dedupWindow) {
+        this.deckService = deckService;
+        this.processedEventRepository = processedEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.dedupWindow = dedupWindow;
+    }
+
+    @RabbitListener(queues = { "card.created" }, containerFactory = "batchRabbitListenerContainerFactory")
+    public void handleCardCreatedEvents(List<CardCreatedEvent> events) {
+        List<CardsCountDelta> deltas = new ArrayList<>(events.size());
+        for (CardCreatedEvent event : events) {
+            try {
+                deltas.add(toCardsCountDelta(event.getEventId(), event.getDeckId(),
+                        event.getCount() != null ? event.getCount() : 1));
+            } catch (IllegalArgumentException e) {
+                deadLetter("card.created.dlq", event, e);
+            }
+        }
+        apply(deltas);
+        log.info("Handled {} CardCreatedEvent(s)", events.size());
+    }
+
+    @RabbitListener(queues = { "card.deleted" }, containerFactory = "batchRabbitListenerContainerFactory")
+    public void handleCardDeletedEvents(List<CardDeletedEvent> events) {
+        List<CardsCountDelta> deltas = new ArrayList<>(events.size());
+        for (CardDeletedEvent event : events) {
+            try {
+                deltas.add(toCardsCountDelta(event.getEventId(), event.getDeckId(), -1));
+            } catch (IllegalArgumentException e) {
+                deadLetter("card.deleted.dlq", event, e);
+            }
+        }
+        apply(deltas);
+        log.info("Handled {} CardDeletedEvent(s)", events.size());
+    }
+
+    @Scheduled(fixedDelayString = "${memorix.card-events.dedup-cleanup-interval:10m}")
+    public void forgetProcessedEvents() {
+        int deleted = processedEventRepository.deleteProcessedBefore(Instant.now().minus(dedupWindow));
+        if (deleted > 0) {
+            log.info("Forgot {} processed card event IDs older than {}", deleted, dedupWindow);
+        }
+    }
+
+    /**
+     * Parses the IDs an event carries. Throws IllegalArgumentException when they are missing or
+     * malformed, so one bad message can be set aside without failing the rest of its batch.
+     */
+    public static CardsCountDelta toCardsCountDelta(String eventId, String deckId, int delta) {
+        if (deckId == null) {
+            throw new IllegalArgumentException("Missing deck ID");
+        }
+        return new CardsCountDelta(eventId != null ? UUID.fromString(eventId) : null, UUID.fromString(deckId), delta);
+    }
 
-    @RabbitListener(queues = { "card.created" })
-    public void handleCardCreatedEvent(CardCreatedEvent event) {
-        deckService.incrementCardsCount(UUID.fromString(event.getDeckId()));
-        log.info("Handled CardCreatedEvent for deck with ID: {}", event.getDeckId());
+    private void apply(List<CardsCountDelta> deltas) {
+        if (!deltas.isEmpty()) {
+            deckService.applyCardsCountDeltas(deltas);
+        }
     }
 
-    @RabbitListener(queues = { "card.deleted" })
-    public void handleCardDeletedEvent(CardDeletedEvent event) {
-        deckService.decrementCardsCount(UUID.fromString(event.getDeckId()));
-        log.info("Handled CardDeletedEvent for deck with ID: {}", event.getDeckId());
+    private void deadLetter(String routingKey, Object event, IllegalArgumentException e) {
+        log.error("Dead-lettering malformed {}: {}", event.getClass().getSimpleName(), e.getMessage());
+        rabbitTemplate.convertAndSend(CARD_DLX, routingKey, event, message -> {
+            message.getMessageProperties().setHeader("x-exception-message", e.getMessage());
+            return message;
+        });
     }
 
 }
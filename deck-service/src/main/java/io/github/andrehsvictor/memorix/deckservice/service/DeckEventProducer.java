@@ -1,12 +1,19 @@
 package io.github.andrehsvictor.memorix.deckservice.service;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckSummaryDto;
 import io.github.andrehsvictor.memorix.deckservice.event.DeckDeletedEvent;
+import io.github.andrehsvictor.memorix.deckservice.event.DeckUpdatedEvent;
+import io.github.andrehsvictor.memorix.deckservice.model.OutboxEvent;
+import io.github.andrehsvictor.memorix.deckservice.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,20 +22,60 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class DeckEventProducer {
 
-    private final RabbitTemplate rabbitTemplate;
+    private static final String DECK_EXCHANGE = "deck.exchange";
+    private static final int MAX_DECK_IDS_PER_EVENT = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
-    @Async
-    @Retryable(maxAttempts = 3, retryFor = Exception.class, backoff = @Backoff(delay = 1000))
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishDeckDeletedEvent(String deckId) {
         DeckDeletedEvent event = DeckDeletedEvent.builder()
                 .deckId(deckId)
                 .timestamp(System.currentTimeMillis())
                 .build();
+        enqueue("deck.deleted", event);
+        log.info("Queued DeckDeletedEvent for deck with ID: {}", deckId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishDecksDeletedEvent(List<String> deckIds) {
+        for (int from = 0; from < deckIds.size(); from += MAX_DECK_IDS_PER_EVENT) {
+            DeckDeletedEvent event = DeckDeletedEvent.builder()
+                    .deckIds(deckIds.subList(from, Math.min(from + MAX_DECK_IDS_PER_EVENT, deckIds.size())))
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+            enqueue("deck.deleted", event);
+        }
+        log.info("Queued DeckDeletedEvent for {} decks", deckIds.size());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishDeckUpdatedEvent(DeckSummaryDto deck) {
+        DeckUpdatedEvent event = DeckUpdatedEvent.builder()
+                .deckId(deck.getId().toString())
+                .name(deck.getName())
+                .coverImageUrl(deck.getCoverImageUrl())
+                .hexColor(deck.getHexColor())
+                .cardsCount(deck.getCardsCount())
+                .updatedAt(deck.getUpdatedAt())
+                .version(deck.getVersion())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        enqueue("deck.updated", event);
+        log.debug("Queued DeckUpdatedEvent for deck with ID: {}", deck.getId());
+    }
+
+    private void enqueue(String routingKey, Object event) {
         try {
-            rabbitTemplate.convertAndSend("deck.deleted", event);
-            log.info("Published DeckDeletedEvent for deck with ID: {}", deckId);
-        } catch (Exception e) {
-            throw e;
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .exchange(DECK_EXCHANGE)
+                    .routingKey(routingKey)
+                    .eventType(event.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
         }
     }
 
@@ -1,50 +1,157 @@
 package io.github.andrehsvictor.memorix.deckservice.service;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import io.github.andrehsvictor.memorix.deckservice.dto.CursorPageDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckLookupDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.DeckSummaryDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.KeysetCursor;
 import io.github.andrehsvictor.memorix.deckservice.dto.PostDeckDto;
 import io.github.andrehsvictor.memorix.deckservice.dto.PutDeckDto;
+import io.github.andrehsvictor.memorix.deckservice.dto.SearchCursor;
+import io.github.andrehsvictor.memorix.deckservice.event.CardsCountDelta;
 import io.github.andrehsvictor.memorix.deckservice.mapper.DeckMapper;
 import io.github.andrehsvictor.memorix.deckservice.model.Deck;
+import io.github.andrehsvictor.memorix.deckservice.repository.CardsCountCorrection;
 import io.github.andrehsvictor.memorix.deckservice.repository.DeckRepository;
+import io.github.andrehsvictor.memorix.deckservice.repository.DeckSearchHit;
+import io.github.andrehsvictor.memorix.deckservice.repository.DeckVersion;
+import io.github.andrehsvictor.memorix.deckservice.repository.ProcessedEventRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class DeckService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_TERMS = 8;
+
     private final DeckMapper deckMapper;
     private final DeckRepository deckRepository;
+    private final ProcessedEventRepository processedEventRepository;
     private final DeckEventProducer deckEventPublisher;
 
     public Page<Deck> getAll(Pageable pageable) {
         return deckRepository.findAll(pageable);
     }
 
+    public Page<DeckVersion> getAllVersions(Pageable pageable) {
+        return deckRepository.findAllVersions(pageable);
+    }
+
+    public CursorPageDto<Deck> getAllByCursor(String cursor, int size, Sort.Direction direction) {
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        Sort.Direction order = after != null ? after.direction() : direction;
+        List<Deck> decks;
+        if (order.isAscending()) {
+            decks = after == null
+                    ? deckRepository.findFirstByCreatedAtAsc(limit + 1)
+                    : deckRepository.findAfterByCreatedAtAsc(after.createdAt(), after.id(), limit + 1);
+        } else {
+            decks = after == null
+                    ? deckRepository.findFirstByCreatedAtDesc(limit + 1)
+                    : deckRepository.findAfterByCreatedAtDesc(after.createdAt(), after.id(), limit + 1);
+        }
+        boolean hasNext = decks.size() > limit;
+        List<Deck> content = hasNext ? decks.subList(0, limit) : decks;
+        Deck last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return CursorPageDto.<Deck>builder()
+                .content(content)
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new KeysetCursor(order, last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    public CursorPageDto<Deck> search(String query, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return CursorPageDto.<Deck>builder().content(List.of()).size(limit).build();
+        }
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        List<DeckSearchHit> hits = after == null
+                ? deckRepository.search(tsQuery, limit + 1)
+                : deckRepository.searchAfter(tsQuery, after.rank(), after.id(), limit + 1);
+        boolean hasNext = hits.size() > limit;
+        List<DeckSearchHit> page = hasNext ? hits.subList(0, limit) : hits;
+        Map<UUID, Deck> decksById = deckRepository.findAllById(page.stream().map(DeckSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Deck::getId, Function.identity()));
+        DeckSearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageDto.<Deck>builder()
+                .content(page.stream().map(hit -> decksById.get(hit.getId())).filter(Objects::nonNull).toList())
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new SearchCursor(last.getRank(), last.getId()).encode() : null)
+                .build();
+    }
+
     public Deck getById(UUID id) {
         return deckRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found with ID: " + id));
     }
 
+    public DeckLookupDto lookup(List<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        List<DeckSummaryDto> decks = deckRepository.findSummariesByIdIn(distinctIds);
+        decks.forEach(deck -> distinctIds.remove(deck.getId()));
+        return DeckLookupDto.builder()
+                .decks(decks)
+                .missingIds(List.copyOf(distinctIds))
+                .build();
+    }
+
+    public Instant getUpdatedAtById(UUID id) {
+        return deckRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found with ID: " + id));
+    }
+
     public boolean existsById(UUID id) {
         return deckRepository.existsById(id);
     }
 
     @Transactional
-    public void incrementCardsCount(UUID id) {
-        deckRepository.incrementCardsCount(id);
+    public void applyCardsCountDeltas(List<CardsCountDelta> deltas) {
+        Set<UUID> unprocessedEventIds = processedEventRepository.markProcessed(deltas.stream()
+                .map(CardsCountDelta::eventId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<UUID, Integer> deltasByDeckId = new HashMap<>();
+        deltas.stream()
+                .filter(delta -> delta.eventId() == null || unprocessedEventIds.remove(delta.eventId()))
+                .forEach(delta -> deltasByDeckId.merge(delta.deckId(), delta.delta(), Integer::sum));
+        deltasByDeckId.values().removeIf(delta -> delta == 0);
+        deckRepository.applyCardsCountDeltas(deltasByDeckId);
+        deckRepository.findSummariesByIdIn(deltasByDeckId.keySet())
+                .forEach(deckEventPublisher::publishDeckUpdatedEvent);
     }
 
     @Transactional
-    public void decrementCardsCount(UUID id) {
-        deckRepository.decrementCardsCount(id);
+    public int correctCardsCounts(List<CardsCountCorrection> corrections) {
+        List<UUID> correctedIds = deckRepository.correctCardsCounts(corrections);
+        deckRepository.findSummariesByIdIn(correctedIds)
+                .forEach(deckEventPublisher::publishDeckUpdatedEvent);
+        return correctedIds.size();
     }
 
     @Transactional
@@ -57,7 +164,9 @@ public class DeckService {
     public Deck update(UUID id, PutDeckDto putDeckDto) {
         Deck deck = getById(id);
         deckMapper.updateDeckFromPutDeckDto(deck, putDeckDto);
-        return deckRepository.save(deck);
+        Deck savedDeck = deckRepository.saveAndFlush(deck);
+        deckEventPublisher.publishDeckUpdatedEvent(deckMapper.deckToDeckSummaryDto(savedDeck));
+        return savedDeck;
     }
 
     @Transactional
@@ -69,16 +178,28 @@ public class DeckService {
 
     @Transactional
     public void deleteAllByIdIn(Iterable<UUID> ids) {
-        Iterable<UUID> existingIds = deckRepository.findAllById(ids)
+        List<UUID> existingIds = deckRepository.findAllById(ids)
                 .stream()
                 .map(Deck::getId)
                 .toList();
-        if (existingIds.iterator().hasNext() == false) {
+        if (existingIds.isEmpty()) {
             return;
         }
         deckRepository.deleteAllByIdInBatch(existingIds);
-        existingIds
-                .forEach(id -> deckEventPublisher.publishDeckDeletedEvent(id.toString()));
+        deckEventPublisher.publishDecksDeletedEvent(existingIds.stream()
+                .map(UUID::toString)
+                .toList());
+    }
+
+    private static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
     }
 
 }
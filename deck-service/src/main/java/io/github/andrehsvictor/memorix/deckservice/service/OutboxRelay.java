@@ -0,0 +1,126 @@
+package io.github.andrehsvictor.memorix.deckservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.andrehsvictor.memorix.deckservice.model.OutboxEvent;
+import io.github.andrehsvictor.memorix.deckservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            RabbitTemplate rabbitTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${memorix.outbox.batch-size:100}") int batchSize,
+            @Value("${memorix.outbox.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = meterRegistry.counter("memorix.outbox.events", "result", "published");
+        this.failedCounter = meterRegistry.counter("memorix.outbox.events", "result", "failed");
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${memorix.outbox.poll-interval:500ms}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed != null && relayed == batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<CorrelationData> confirmations = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            CorrelationData correlationData = new CorrelationData(String.valueOf(event.getId()));
+            rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlationData);
+            confirmations.add(correlationData);
+        }
+        List<Long> confirmedIds = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (isConfirmed(confirmations.get(i))) {
+                confirmedIds.add(events.get(i).getId());
+            }
+        }
+        outboxEventRepository.deleteAllByIdInBatch(confirmedIds);
+        publishedCounter.increment(confirmedIds.size());
+        if (confirmedIds.size() < events.size()) {
+            failedCounter.increment(events.size() - confirmedIds.size());
+            log.warn("{} of {} outbox events were not confirmed by the broker, retrying on next poll",
+                    events.size() - confirmedIds.size(), events.size());
+            return 0;
+        }
+        return events.size();
+    }
+
+    private boolean isConfirmed(CorrelationData correlationData) {
+        try {
+            CorrelationData.Confirm confirm = correlationData.getFuture()
+                    .get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker rejected outbox event {}: {}", correlationData.getId(), confirm.getReason());
+                return false;
+            }
+            if (correlationData.getReturned() != null) {
+                log.warn("Outbox event {} was unroutable: {}", correlationData.getId(),
+                        correlationData.getReturned().getReplyText());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("No confirmation for outbox event {}: {}", correlationData.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(String.valueOf(event.getId()))
+                .setHeader(TYPE_ID_HEADER, event.getEventType())
+                .build();
+    }
+
+}
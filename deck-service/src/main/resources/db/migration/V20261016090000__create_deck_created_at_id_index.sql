@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_deck_created_at_id ON deck (created_at, id);
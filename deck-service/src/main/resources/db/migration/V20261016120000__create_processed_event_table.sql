@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS processed_event (
+    event_id UUID PRIMARY KEY,
+    processed_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_event_processed_at ON processed_event (processed_at);
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS job_lease (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    lease_expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
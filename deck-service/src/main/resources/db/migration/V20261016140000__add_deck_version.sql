@@ -0,0 +1,13 @@
+ALTER TABLE deck ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Bumped under the row lock by every update, whether it comes from JPA or from the counter
+-- SQL, so versions follow commit order regardless of which clock stamped updated_at.
+CREATE OR REPLACE FUNCTION increment_deck_version() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.version := OLD.version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER deck_version BEFORE UPDATE ON deck
+    FOR EACH ROW EXECUTE FUNCTION increment_deck_version();
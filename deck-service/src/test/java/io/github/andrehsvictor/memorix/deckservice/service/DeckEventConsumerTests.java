@@ -0,0 +1,78 @@
+package io.github.andrehsvictor.memorix.deckservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import io.github.andrehsvictor.memorix.deckservice.event.CardCreatedEvent;
+import io.github.andrehsvictor.memorix.deckservice.event.CardDeletedEvent;
+import io.github.andrehsvictor.memorix.deckservice.event.CardsCountDelta;
+import io.github.andrehsvictor.memorix.deckservice.repository.ProcessedEventRepository;
+
+class DeckEventConsumerTests {
+
+    private final DeckService deckService = mock(DeckService.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final DeckEventConsumer deckEventConsumer = new DeckEventConsumer(deckService,
+            mock(ProcessedEventRepository.class), rabbitTemplate, Duration.ofHours(24));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appliesGoodEventsAndDeadLettersOnlyMalformedOnesInAPoisonedBatch() {
+        UUID eventId = UUID.randomUUID();
+        UUID deckId = UUID.randomUUID();
+        CardCreatedEvent good = created(eventId.toString(), deckId.toString(), 3);
+        CardCreatedEvent badDeckId = created(UUID.randomUUID().toString(), "not-a-uuid", 1);
+        CardCreatedEvent badEventId = created("not-a-uuid", deckId.toString(), 1);
+        CardCreatedEvent missingDeckId = created(UUID.randomUUID().toString(), null, 1);
+        CardCreatedEvent withoutEventId = created(null, deckId.toString(), null);
+
+        deckEventConsumer.handleCardCreatedEvents(List.of(good, badDeckId, badEventId, missingDeckId, withoutEventId));
+
+        ArgumentCaptor<List<CardsCountDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(deckService).applyCardsCountDeltas(deltas.capture());
+        assertEquals(List.of(new CardsCountDelta(eventId, deckId, 3), new CardsCountDelta(null, deckId, 1)),
+                deltas.getValue());
+        for (CardCreatedEvent bad : List.of(badDeckId, badEventId, missingDeckId)) {
+            verify(rabbitTemplate).convertAndSend(eq("card.dlx"), eq("card.created.dlq"), same(bad),
+                    any(MessagePostProcessor.class));
+        }
+    }
+
+    @Test
+    void skipsTheUpdateWhenEveryEventIsMalformed() {
+        CardDeletedEvent bad = CardDeletedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .deckId("not-a-uuid")
+                .build();
+
+        deckEventConsumer.handleCardDeletedEvents(List.of(bad));
+
+        verify(deckService, never()).applyCardsCountDeltas(any());
+        verify(rabbitTemplate).convertAndSend(eq("card.dlx"), eq("card.deleted.dlq"), same(bad),
+                any(MessagePostProcessor.class));
+    }
+
+    private static CardCreatedEvent created(String eventId, String deckId, Integer count) {
+        return CardCreatedEvent.builder()
+                .eventId(eventId)
+                .cardId(UUID.randomUUID().toString())
+                .deckId(deckId)
+                .count(count)
+                .build();
+    }
+
+}
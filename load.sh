@@ -10,10 +10,24 @@ CYAN='\033[0;36m'
 NC='\033[0m' # No Color
 
 # Test configuration
-GATEWAY_URL="http://localhost:8080"
-EUREKA_URL="http://localhost:8761"
-TOTAL_REQUESTS=100
-CONCURRENT_REQUESTS=20
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+EUREKA_URL=${EUREKA_URL:-http://localhost:8761}
+TOTAL_REQUESTS=${TOTAL_REQUESTS:-100}
+CONCURRENT_REQUESTS=${CONCURRENT_REQUESTS:-20}
+# Scales requests and concurrency, e.g. to compare thread modes at 10x: start the services with
+# SPRING_THREADS_VIRTUAL_ENABLED=false, then =true, and run LOAD_MULTIPLIER=10 ./load.sh against each.
+# Raise the gateway's memorix.gateway.rate-limit.* first, or the extra load is answered with 429.
+LOAD_MULTIPLIER=${LOAD_MULTIPLIER:-1}
+TOTAL_REQUESTS=$((TOTAL_REQUESTS * LOAD_MULTIPLIER))
+CONCURRENT_REQUESTS=$((CONCURRENT_REQUESTS * LOAD_MULTIPLIER))
+# Eureka name of the service behind the gateway's card routes; CARD-SERVICE-REACTIVE when
+# start.sh ran with CARD_REACTIVE_REPLICAS > 0.
+CARD_SERVICE=${CARD_SERVICE:-CARD-SERVICE}
+COUNTER_TEST_CARDS=${COUNTER_TEST_CARDS:-0}
+COALESCING_TEST_REQUESTS=${COALESCING_TEST_REQUESTS:-0}
+# PID of one service instance to slow down with periodic SIGSTOP pauses, e.g. to compare tail latency
+SLOW_INSTANCE_PID=${SLOW_INSTANCE_PID:-}
+SLOW_INSTANCE_PAUSE=${SLOW_INSTANCE_PAUSE:-0.2}
 
 echo -e "${BLUE}🚀 Load Distribution Test for Memorix${NC}"
 echo "============================================"
@@ -172,6 +186,8 @@ analyze_distribution() {
     local total_requests=$(wc -l < "$results_file")
     local successful_requests=$(awk -F'|' '$2 ~ /^2[0-9][0-9]$/ {count++} END {print count+0}' "$results_file")
     local failed_requests=$((total_requests - successful_requests))
+    local rate_limited_requests=$(awk -F'|' '$2 == "429" {count++} END {print count+0}' "$results_file")
+    local shed_requests=$(awk -F'|' '$2 == "503" {count++} END {print count+0}' "$results_file")
     
     echo -e "${YELLOW}📈 Load Distribution Analysis for $service_name:${NC}"
     echo ""
@@ -181,6 +197,8 @@ analyze_distribution() {
     echo -e "${CYAN}   Total requests sent: $total_requests${NC}"
     echo -e "${CYAN}   Successful (2xx): $successful_requests${NC}"
     echo -e "${CYAN}   Failed: $failed_requests${NC}"
+    echo -e "${CYAN}   Rate limited (429): $rate_limited_requests${NC}"
+    echo -e "${CYAN}   Shed (503): $shed_requests${NC}"
     echo -e "${CYAN}   Success rate: $(( successful_requests * 100 / total_requests ))%${NC}"
     echo -e "${CYAN}   Total time: ${total_duration}s${NC}"
     echo -e "${CYAN}   Throughput: $(echo "scale=2; $successful_requests / $total_duration" | bc -l 2>/dev/null || echo "0") req/s${NC}"
@@ -192,8 +210,13 @@ analyze_distribution() {
     local min_time=$(awk -F'|' 'NR==1{min=$3} {if($3<min) min=$3} END {printf "%.3f", min}' "$results_file")
     local max_time=$(awk -F'|' '{if($3>max) max=$3} END {printf "%.3f", max}' "$results_file")
     
+    local p95_time=$(awk -F'|' '{print $3}' "$results_file" | sort -n | awk '{t[NR]=$1} END {i=int(NR*0.95+0.999); if(i<1) i=1; printf "%.3f", t[i]}')
+    local p99_time=$(awk -F'|' '{print $3}' "$results_file" | sort -n | awk '{t[NR]=$1} END {i=int(NR*0.99+0.999); if(i<1) i=1; printf "%.3f", t[i]}')
+    
     echo -e "${CYAN}   Average: ${avg_time}s${NC}"
     echo -e "${CYAN}   Minimum: ${min_time}s${NC}"
+    echo -e "${CYAN}   p95: ${p95_time}s${NC}"
+    echo -e "${CYAN}   p99: ${p99_time}s${NC}"
     echo -e "${CYAN}   Maximum: ${max_time}s${NC}"
     echo ""
     
@@ -228,6 +251,113 @@ analyze_distribution() {
     echo ""
 }
 
+# Measure how fast deck-service applies card.created events to cardsCount
+test_card_counter_throughput() {
+    local deck_id=$1
+    local cards=$COUNTER_TEST_CARDS
+    
+    echo -e "${YELLOW}🧮 Testing card counter throughput with $cards card creations...${NC}"
+    
+    local initial_count=$(curl -s "$GATEWAY_URL/api/v2/decks/$deck_id" | grep -o '"cardsCount":[0-9]*' | cut -d':' -f2)
+    initial_count=${initial_count:-0}
+    local expected_count=$((initial_count + cards))
+    local start_time=$(date +%s.%N)
+    
+    seq 1 $cards | xargs -n 1 -P $CONCURRENT_REQUESTS -I {} \
+        curl -s -o /dev/null -X POST "$GATEWAY_URL/api/v2/decks/$deck_id/cards" \
+            -H "Content-Type: application/json" \
+            -d '{"question": "Counter test question {}", "answer": "Counter test answer {}"}'
+    
+    local created_time=$(date +%s.%N)
+    local current_count=$initial_count
+    local waited=0
+    
+    while [ "$current_count" -lt "$expected_count" ] && [ $waited -lt 300 ]; do
+        sleep 1
+        waited=$((waited + 1))
+        current_count=$(curl -s "$GATEWAY_URL/api/v2/decks/$deck_id" | grep -o '"cardsCount":[0-9]*' | cut -d':' -f2)
+        current_count=${current_count:-0}
+    done
+    
+    local end_time=$(date +%s.%N)
+    local create_duration=$(echo "$created_time - $start_time" | bc -l 2>/dev/null || echo "0")
+    local total_duration=$(echo "$end_time - $start_time" | bc -l 2>/dev/null || echo "0")
+    
+    echo -e "${CYAN}   Cards created in: ${create_duration}s${NC}"
+    echo -e "${CYAN}   cardsCount converged ($current_count/$expected_count) after: ${total_duration}s${NC}"
+    echo -e "${CYAN}   Counter throughput: $(echo "scale=2; $cards / $total_duration" | bc -l 2>/dev/null || echo "0") events/s${NC}"
+    echo ""
+}
+
+# Sum a gateway counter from the Prometheus endpoint, e.g. gateway_counter coalescing_requests 'role="leader"'
+gateway_counter() {
+    local name=$1
+    local labels=$2
+    curl -s "$GATEWAY_URL/actuator/prometheus" \
+        | grep "^memorix_gateway_${name}_total{" | grep "$labels" \
+        | awk '{sum+=$2} END {printf "%d", sum}'
+}
+
+# Print thread usage and virtual thread pinning of every instance of a service
+report_thread_metrics() {
+    local service_name=$1
+    
+    echo -e "${YELLOW}🧵 Thread metrics for $service_name:${NC}"
+    curl -s "$EUREKA_URL/eureka/apps/$service_name" 2>/dev/null \
+        | grep -o '<hostName>[^<]*</hostName>\|<port enabled="true">[^<]*</port>' \
+        | sed 's/<[^>]*>//g' | paste - - \
+        | while read host port; do
+            local metrics=$(curl -s "http://$host:$port/actuator/prometheus" 2>/dev/null)
+            local live=$(echo "$metrics" | awk '/^jvm_threads_live_threads/ {printf "%d", $2}')
+            local peak=$(echo "$metrics" | awk '/^jvm_threads_peak_threads/ {printf "%d", $2}')
+            local pinned=$(echo "$metrics" | awk '/^memorix_virtual_threads_pinned_seconds_count/ {printf "%d", $2}')
+            local pinned_time=$(echo "$metrics" | awk '/^memorix_virtual_threads_pinned_seconds_sum/ {printf "%.3f", $2}')
+            echo -e "${CYAN}   $host:$port - platform threads: ${live:-?} live, ${peak:-?} peak; pinned: ${pinned:-n/a} (${pinned_time:-0}s)${NC}"
+        done
+    echo ""
+}
+
+# Burst identical GETs at the gateway and compare client requests with upstream calls
+test_request_coalescing() {
+    local endpoint=$1
+    local requests=$COALESCING_TEST_REQUESTS
+    
+    echo -e "${YELLOW}🧲 Testing request coalescing with a burst of $requests identical GETs...${NC}"
+    
+    local leaders_before=$(gateway_counter coalescing_requests 'role="leader"')
+    local fallbacks_before=$(gateway_counter coalescing_requests 'role="fallback"')
+    local rejected_before=$(gateway_counter coalescing_requests 'role="rejected"')
+    local start_time=$(date +%s.%N)
+    
+    # no-cache skips the gateway response cache so every request reaches the coalescing filter
+    seq 1 $requests | xargs -n 1 -P $requests -I {} \
+        curl -s -o /dev/null -H "Cache-Control: no-cache" "$GATEWAY_URL$endpoint"
+    
+    local end_time=$(date +%s.%N)
+    local duration=$(echo "$end_time - $start_time" | bc -l 2>/dev/null || echo "0")
+    local leaders=$(( $(gateway_counter coalescing_requests 'role="leader"') - leaders_before ))
+    local fallbacks=$(( $(gateway_counter coalescing_requests 'role="fallback"') - fallbacks_before ))
+    local rejected=$(( $(gateway_counter coalescing_requests 'role="rejected"') - rejected_before ))
+    local upstream=$((leaders + fallbacks + rejected))
+    
+    echo -e "${CYAN}   Burst completed in: ${duration}s${NC}"
+    echo -e "${CYAN}   Client requests: $requests ($(echo "scale=2; $requests / $duration" | bc -l 2>/dev/null || echo "0") req/s)${NC}"
+    echo -e "${CYAN}   Upstream calls: $upstream ($(echo "scale=2; $upstream / $duration" | bc -l 2>/dev/null || echo "0") req/s)${NC}"
+    echo -e "${CYAN}   Leaders: $leaders, fallbacks: $fallbacks, over max-waiters: $rejected${NC}"
+    echo ""
+}
+
+# Periodically freeze one instance, mimicking GC pauses or a noisy neighbor
+slow_down_instance() {
+    local pid=$1
+    while kill -0 "$pid" 2>/dev/null; do
+        kill -STOP "$pid" 2>/dev/null
+        sleep "$SLOW_INSTANCE_PAUSE"
+        kill -CONT "$pid" 2>/dev/null
+        sleep 0.3
+    done
+}
+
 # Test with real-time monitoring
 test_with_monitoring() {
     echo -e "${YELLOW}📊 Starting real-time monitoring test...${NC}"
@@ -237,17 +367,41 @@ test_with_monitoring() {
     monitor_services &
     local monitor_pid=$!
     
+    local slow_pid=""
+    if [ -n "$SLOW_INSTANCE_PID" ]; then
+        echo -e "${YELLOW}🐢 Pausing instance $SLOW_INSTANCE_PID for ${SLOW_INSTANCE_PAUSE}s every cycle${NC}"
+        echo ""
+        slow_down_instance "$SLOW_INSTANCE_PID" &
+        slow_pid=$!
+    fi
+    
     # Run the actual load test
     test_load_distribution "DECK-SERVICE" "/api/v2/decks" "Deck Service Load Distribution"
+    report_thread_metrics "DECK-SERVICE"
     
     if [ -f /tmp/test_deck_id.txt ]; then
         local deck_id=$(cat /tmp/test_deck_id.txt)
-        test_load_distribution "CARD-SERVICE" "/api/v2/decks/$deck_id/cards" "Card Service Load Distribution"
+        test_load_distribution "$CARD_SERVICE" "/api/v2/decks/$deck_id/cards" "Card Service Load Distribution"
+        report_thread_metrics "$CARD_SERVICE"
+        
+        if [ "$COUNTER_TEST_CARDS" -gt 0 ]; then
+            test_card_counter_throughput "$deck_id"
+        fi
+        
+        if [ "$COALESCING_TEST_REQUESTS" -gt 0 ]; then
+            test_request_coalescing "/api/v2/decks/$deck_id/cards?page=0&size=20"
+        fi
     fi
     
     # Stop monitoring
     kill $monitor_pid 2>/dev/null
     wait $monitor_pid 2>/dev/null
+    
+    if [ -n "$slow_pid" ]; then
+        kill $slow_pid 2>/dev/null
+        wait $slow_pid 2>/dev/null
+        kill -CONT "$SLOW_INSTANCE_PID" 2>/dev/null
+    fi
 }
 
 # Monitor services during test
@@ -258,7 +412,7 @@ monitor_services() {
         
         # Check Eureka status
         local deck_instances=$(curl -s "$EUREKA_URL/eureka/apps/DECK-SERVICE" 2>/dev/null | grep -o "<instance>" | wc -l)
-        local card_instances=$(curl -s "$EUREKA_URL/eureka/apps/CARD-SERVICE" 2>/dev/null | grep -o "<instance>" | wc -l)
+        local card_instances=$(curl -s "$EUREKA_URL/eureka/apps/$CARD_SERVICE" 2>/dev/null | grep -o "<instance>" | wc -l)
         
         echo -e "${PURPLE}   Deck Service: $deck_instances instances${NC}"
         echo -e "${PURPLE}   Card Service: $card_instances instances${NC}"
@@ -272,6 +426,10 @@ monitor_services() {
 cleanup() {
     echo -e "${YELLOW}🧹 Cleaning up...${NC}"
     
+    if [ -n "$SLOW_INSTANCE_PID" ]; then
+        kill -CONT "$SLOW_INSTANCE_PID" 2>/dev/null
+    fi
+    
     if [ -f /tmp/test_deck_id.txt ]; then
         local deck_id=$(cat /tmp/test_deck_id.txt)
         curl -s -X DELETE "$GATEWAY_URL/api/v2/decks/$deck_id" > /dev/null
@@ -293,7 +451,7 @@ main() {
     get_service_instances "DECK-SERVICE"
     local deck_instances=$?
     
-    get_service_instances "CARD-SERVICE"  
+    get_service_instances "$CARD_SERVICE"  
     local card_instances=$?
     
     if [ $deck_instances -eq 0 ] || [ $card_instances -eq 0 ]; then
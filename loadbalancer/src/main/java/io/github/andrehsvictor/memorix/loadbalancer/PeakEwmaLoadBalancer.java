@@ -0,0 +1,179 @@
+package io.github.andrehsvictor.memorix.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Picks the cheaper of two random instances, where cost is a peak-sensitive EWMA of observed
+ * latency multiplied by the number of outstanding requests. A latency spike is taken at face
+ * value immediately, while improvements and idle time decay it over {@code decay}, so a slowed
+ * instance sheds traffic at once and is probed again once it has been left alone for a while.
+ * <p>
+ * Acts as its own {@link LoadBalancerLifecycle}, which both the gateway's load balancer filter
+ * and the Feign load balancer client call around every request.
+ */
+public class PeakEwmaLoadBalancer
+        implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Log log = LogFactory.getLog(PeakEwmaLoadBalancer.class);
+
+    // Instances that have requests in flight but no completed ones yet look expensive.
+    private static final double UNKNOWN_LATENCY_PENALTY = Long.MAX_VALUE >> 16;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+            String serviceId, Duration decay, Duration failurePenalty) {
+        this(serviceInstanceListSupplierProvider, serviceId, decay, failurePenalty, System::nanoTime);
+    }
+
+    PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+            String serviceId, Duration decay, Duration failurePenalty, LongSupplier nanoClock) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: " + serviceId);
+            return new EmptyResponse();
+        }
+        forgetRemovedInstances(instances);
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        long now = nanoClock.getAsLong();
+        return new DefaultResponse(stats(a).cost(now) <= stats(b).cost(now) ? a : b);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(nanoClock.getAsLong());
+        }
+        stats(lbResponse.getServer()).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats instanceStats = stats(lbResponse.getServer());
+        instanceStats.outstanding.decrementAndGet();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || !(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context)
+                || context.getRequestStartTime() == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long latency = now - context.getRequestStartTime();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            // A fast failure must not make a broken instance look attractive.
+            latency = Math.max(latency, failurePenaltyNanos);
+        }
+        instanceStats.observe(now, latency);
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats());
+    }
+
+    private void forgetRemovedInstances(List<ServiceInstance> instances) {
+        if (stats.size() > instances.size() * 2) {
+            Set<String> keys = instances.stream()
+                    .map(PeakEwmaLoadBalancer::key)
+                    .collect(Collectors.toSet());
+            stats.keySet().retainAll(keys);
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class InstanceStats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double ewma;
+        private long stamp = nanoClock.getAsLong();
+
+        private synchronized void observe(long now, double latency) {
+            if (latency > ewma) {
+                ewma = latency;
+            } else {
+                double weight = Math.exp(-Math.max(now - stamp, 0) / decayNanos);
+                ewma = ewma * weight + latency * (1 - weight);
+            }
+            stamp = now;
+        }
+
+        private synchronized double cost(long now) {
+            double latency = ewma * Math.exp(-Math.max(now - stamp, 0) / decayNanos);
+            int active = Math.max(outstanding.get(), 0);
+            if (latency == 0 && active > 0) {
+                return UNKNOWN_LATENCY_PENALTY + active;
+            }
+            return latency * (active + 1);
+        }
+
+    }
+
+}
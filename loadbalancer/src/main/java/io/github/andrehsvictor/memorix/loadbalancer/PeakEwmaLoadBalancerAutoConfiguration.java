@@ -0,0 +1,11 @@
+package io.github.andrehsvictor.memorix.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+
+@AutoConfiguration
+@ConditionalOnProperty(name = "memorix.load-balancer.peak-ewma.enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class PeakEwmaLoadBalancerAutoConfiguration {
+}
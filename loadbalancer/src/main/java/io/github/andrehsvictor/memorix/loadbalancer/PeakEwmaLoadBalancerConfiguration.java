@@ -0,0 +1,30 @@
+package io.github.andrehsvictor.memorix.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-client load balancer configuration, registered as the default for every client by
+ * {@link PeakEwmaLoadBalancerAutoConfiguration}. Deliberately not a {@code @Configuration} so that
+ * component scanning never picks it up into the main context.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public PeakEwmaLoadBalancer peakEwmaLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            @Value("${memorix.load-balancer.peak-ewma.decay:10s}") String decay,
+            @Value("${memorix.load-balancer.peak-ewma.failure-penalty:1s}") String failurePenalty) {
+        // Client contexts have no Boot conversion service, so durations are parsed here.
+        String name = LoadBalancerClientFactory.getName(environment);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class),
+                name, DurationStyle.detectAndParse(decay), DurationStyle.detectAndParse(failurePenalty));
+    }
+
+}
@@ -0,0 +1,112 @@
+package io.github.andrehsvictor.memorix.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+/**
+ * Replays the same request stream, in simulated time, against three instances of which one is
+ * slowed down, once with round-robin and once with {@link PeakEwmaLoadBalancer}.
+ */
+class PeakEwmaLoadBalancerTests {
+
+    private static final long MILLIS = 1_000_000;
+    private static final int REQUESTS = 20_000;
+    private static final long FAST_LATENCY = 10 * MILLIS;
+    private static final long SLOW_LATENCY = 250 * MILLIS;
+
+    private final List<ServiceInstance> instances = List.of(
+            new DefaultServiceInstance("deck-service-1", "deck-service", "10.0.0.1", 8080, false),
+            new DefaultServiceInstance("deck-service-2", "deck-service", "10.0.0.2", 8080, false),
+            new DefaultServiceInstance("deck-service-3", "deck-service", "10.0.0.3", 8080, false));
+    private final Map<String, Long> latencies = Map.of(
+            "deck-service-1", FAST_LATENCY,
+            "deck-service-2", FAST_LATENCY,
+            "deck-service-3", SLOW_LATENCY);
+
+    private long now;
+
+    @Test
+    void slowedInstanceNoLongerDominatesTailLatency() {
+        int[] next = { 0 };
+        long[] roundRobin = simulate(null, available -> available.get(next[0]++ % available.size()));
+
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(
+                null, "deck-service", Duration.ofSeconds(10), Duration.ofSeconds(1), () -> now);
+        long[] peakEwma = simulate(loadBalancer, available -> loadBalancer.choose(available).getServer());
+
+        assertEquals(SLOW_LATENCY / MILLIS, percentile(roundRobin, 0.99));
+        assertEquals(FAST_LATENCY / MILLIS, percentile(peakEwma, 0.50));
+        assertTrue(percentile(peakEwma, 0.99) < SLOW_LATENCY / MILLIS / 10,
+                () -> "p99 should be close to the fast instances' latency, was "
+                        + percentile(peakEwma, 0.99) + "ms");
+    }
+
+    @Test
+    void singleInstanceIsAlwaysChosen() {
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(
+                null, "deck-service", Duration.ofSeconds(10), Duration.ofSeconds(1), () -> now);
+        assertEquals(instances.get(0), loadBalancer.choose(instances.subList(0, 1)).getServer());
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+
+    /**
+     * One request arrives every millisecond; each completes after its instance's latency.
+     */
+    private long[] simulate(PeakEwmaLoadBalancer loadBalancer, Function<List<ServiceInstance>, ServiceInstance> choose) {
+        now = 0;
+        PriorityQueue<InFlight> inFlight = new PriorityQueue<>((a, b) -> Long.compare(a.completesAt, b.completesAt));
+        List<Long> observed = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            long arrival = i * MILLIS;
+            while (!inFlight.isEmpty() && inFlight.peek().completesAt <= arrival) {
+                InFlight completed = inFlight.poll();
+                now = completed.completesAt;
+                if (loadBalancer != null) {
+                    loadBalancer.onComplete(new CompletionContext<>(
+                            CompletionContext.Status.SUCCESS, completed.request, completed.response));
+                }
+                observed.add((completed.completesAt - completed.startedAt) / MILLIS);
+            }
+            now = arrival;
+            ServiceInstance instance = choose.apply(instances);
+            Request<Object> request = new DefaultRequest<>(new DefaultRequestContext());
+            Response<ServiceInstance> response = new DefaultResponse(instance);
+            if (loadBalancer != null) {
+                loadBalancer.onStartRequest(request, response);
+            }
+            inFlight.add(new InFlight(request, response, arrival, arrival + latencies.get(instance.getInstanceId())));
+        }
+        inFlight.forEach(remaining -> observed.add((remaining.completesAt - remaining.startedAt) / MILLIS));
+        long[] sorted = observed.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private record InFlight(Request<Object> request, Response<ServiceInstance> response, long startedAt,
+            long completesAt) {
+    }
+
+}
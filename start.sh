@@ -158,7 +158,7 @@ start_service() {
         
         cd "$service_dir"
         
-        if [[ "$service_name" == "deck-service" || "$service_name" == "card-service" ]]; then
+        if [[ "$service_name" == "deck-service" || "$service_name" == "card-service" || "$service_name" == "card-service-reactive" ]]; then
             # For deck and card services, let Spring Boot choose random port (server.port: 0)
             # Add progressive delay to prevent concurrency issues
             if [ $i -gt 1 ]; then
@@ -248,6 +248,13 @@ else
     CARD_REPLICAS=${CARD_REPLICAS:-2}
 fi
 
+# The reactive card service is optional and only configured through the environment. When it runs,
+# the gateway serves cards from it; card-service still handles imports and deck events.
+CARD_REACTIVE_REPLICAS=${CARD_REACTIVE_REPLICAS:-0}
+if [ "$CARD_REACTIVE_REPLICAS" -gt 0 ]; then
+    export MEMORIX_GATEWAY_CARD_SERVICE_URI=${MEMORIX_GATEWAY_CARD_SERVICE_URI:-lb://card-service-reactive}
+fi
+
 echo ""
 echo "📋 Configuration Summary:"
 echo "   - Eureka Server: $EUREKA_REPLICAS replica(s)"
@@ -255,6 +262,7 @@ echo "   - Config Server: $CONFIG_REPLICAS replica(s)"
 echo "   - API Gateway: $GATEWAY_REPLICAS replica(s)"
 echo "   - Deck Service: $DECK_REPLICAS replica(s)"
 echo "   - Card Service: $CARD_REPLICAS replica(s)"
+echo "   - Card Service (reactive): $CARD_REACTIVE_REPLICAS replica(s)"
 echo ""
 
 # Start Docker Compose infrastructure services
@@ -310,10 +318,19 @@ start_service "card-service" "card-service" "" $CARD_REPLICAS
 # Verify Card Service instances health
 verify_instances_health "card-service" "card-service" $CARD_REPLICAS
 
+if [ "$CARD_REACTIVE_REPLICAS" -gt 0 ]; then
+    echo "Starting Reactive Card Service..."
+    start_service "card-service-reactive" "card-service-reactive" "" $CARD_REACTIVE_REPLICAS
+    verify_instances_health "card-service-reactive" "card-service-reactive" $CARD_REACTIVE_REPLICAS
+fi
+
 # Wait for services to register with Eureka
 echo "⏳ Waiting for services to register with Eureka..."
 check_eureka_registration "DECK-SERVICE" $DECK_REPLICAS
 check_eureka_registration "CARD-SERVICE" $CARD_REPLICAS
+if [ "$CARD_REACTIVE_REPLICAS" -gt 0 ]; then
+    check_eureka_registration "CARD-SERVICE-REACTIVE" $CARD_REACTIVE_REPLICAS
+fi
 
 # Start Web Client
 echo "🌐 Starting Web Client..."
@@ -345,6 +362,7 @@ display_service_status "config-server" $CONFIG_REPLICAS
 display_service_status "api-gateway" $GATEWAY_REPLICAS
 display_service_status "deck-service" $DECK_REPLICAS
 display_service_status "card-service" $CARD_REPLICAS
+display_service_status "card-service-reactive" $CARD_REACTIVE_REPLICAS
 if [ -f "web-client/web-client.pid" ]; then
     echo "   - web-client: PID $(cat web-client/web-client.pid)"
 fi
@@ -355,6 +373,9 @@ echo "   - Config Server: 8888-$((8888 + CONFIG_REPLICAS - 1))"
 echo "   - API Gateway: 8080-$((8080 + GATEWAY_REPLICAS - 1))"
 echo "   - Deck Service: Random ports (check Eureka dashboard)"
 echo "   - Card Service: Random ports (check Eureka dashboard)"
+if [ "$CARD_REACTIVE_REPLICAS" -gt 0 ]; then
+    echo "   - Card Service (reactive): Random ports (gateway card routes use $MEMORIX_GATEWAY_CARD_SERVICE_URI)"
+fi
 echo ""
 echo "💡 Tip: Visit the Eureka Dashboard at http://localhost:8761 to see all service instances and their random ports"
 echo ""
@@ -0,0 +1,89 @@
+package io.github.andrehsvictor.memorix.virtualthreads;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.SmartLifecycle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events, which fire when a virtual thread blocks
+ * while holding a monitor (e.g. inside a driver's {@code synchronized} block) and so keeps its
+ * carrier thread busy. Each event is timed in {@code memorix.virtual-threads.pinned} and every
+ * distinct stack is logged once.
+ */
+@Slf4j
+public class PinnedVirtualThreadMonitor implements SmartLifecycle {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 15;
+    private static final int MAX_REPORTED_STACKS = 100;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream recordingStream;
+
+    public PinnedVirtualThreadMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.pinned = Timer.builder("memorix.virtual-threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT_NAME, this::onPinned);
+        stream.startAsync();
+        recordingStream = stream;
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String stack = format(event.getStackTrace());
+        if (reportedStacks.size() < MAX_REPORTED_STACKS && reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned its carrier for {} ms{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(PinnedVirtualThreadMonitor::format)
+                .collect(Collectors.joining());
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+
+}
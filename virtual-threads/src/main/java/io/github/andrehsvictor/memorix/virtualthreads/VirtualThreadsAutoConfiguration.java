@@ -0,0 +1,46 @@
+package io.github.andrehsvictor.memorix.virtualthreads;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.undertow.Undertow;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}. Spring Boot then runs the Rabbit
+ * listener containers, {@code @Scheduled} jobs and the application task executor on virtual
+ * threads by itself; Undertow only needs its servlet dispatch executor replaced.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    PinnedVirtualThreadMonitor pinnedVirtualThreadMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${memorix.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new PinnedVirtualThreadMonitor(meterRegistry, threshold);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Undertow.class)
+    static class UndertowConfiguration {
+
+        @Bean
+        UndertowDeploymentInfoCustomizer virtualThreadsUndertowDeploymentInfoCustomizer() {
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("undertow-");
+            return deploymentInfo -> deploymentInfo.setExecutor(executor).setAsyncExecutor(executor);
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.github.andrehsvictor.memorix.virtualthreads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadsAutoConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(VirtualThreadsAutoConfiguration.class))
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void monitorsPinningAndDispatchesUndertowOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(PinnedVirtualThreadMonitor.class);
+            assertThat(context).hasSingleBean(UndertowDeploymentInfoCustomizer.class);
+            assertThat(context.getBean(PinnedVirtualThreadMonitor.class).isRunning()).isTrue();
+        });
+    }
+
+    @Test
+    void backsOffOnPlatformThreads() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(PinnedVirtualThreadMonitor.class);
+            assertThat(context).doesNotHaveBean(UndertowDeploymentInfoCustomizer.class);
+        });
+    }
+
+}
@@ -43,6 +43,7 @@ export function useDecksManager(options: UseDecksManagerOptions = {}): UseDecksM
   const [error, setError] = useState<string | null>(null);
   const [currentPage, setCurrentPage] = useState(initialPage);
   const [searchQuery, setSearchQuery] = useState('');
+  const [searchResults, setSearchResults] = useState<Deck[] | null>(null);
   
   // Error handler
   const { handleError } = useErrorHandler({
@@ -140,26 +141,50 @@ export function useDecksManager(options: UseDecksManagerOptions = {}): UseDecksM
     initializeApp();
   }, [currentPage]); // eslint-disable-line react-hooks/exhaustive-deps
 
-  // Filtered decks based on search
+  // Server-side search across all decks, debounced while typing
+  useEffect(() => {
+    const query = searchQuery.trim();
+    if (!query) {
+      setSearchResults(null);
+      return;
+    }
+
+    let cancelled = false;
+    const timeout = setTimeout(async () => {
+      try {
+        const result = await deckService.search(query, pageSize);
+        if (!cancelled) {
+          setSearchResults(result.content);
+        }
+      } catch (err) {
+        console.error('Error searching decks:', err);
+        if (!cancelled) {
+          handleError(err, 'search decks');
+          setSearchResults([]);
+        }
+      }
+    }, 300);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timeout);
+    };
+  }, [searchQuery, pageSize]); // eslint-disable-line react-hooks/exhaustive-deps
+
+  // Decks to display: search results while searching, current page otherwise
   const filteredDecks = useMemo(() => {
+    if (searchQuery.trim()) {
+      return searchResults ?? [];
+    }
+
     if (!decks?.content) {
       console.log('No decks content available');
       return [];
     }
-    
-    if (!searchQuery.trim()) {
-      console.log('No search query, returning all decks:', decks.content.length);
-      return decks.content;
-    }
-    
-    const filtered = decks.content.filter(deck =>
-      deck.name.toLowerCase().includes(searchQuery.toLowerCase()) ||
-      deck.description?.toLowerCase().includes(searchQuery.toLowerCase())
-    );
-    
-    console.log('Filtered decks:', filtered.length, 'from', decks.content.length);
-    return filtered;
-  }, [decks?.content, searchQuery]);
+
+    console.log('No search query, returning all decks:', decks.content.length);
+    return decks.content;
+  }, [decks?.content, searchQuery, searchResults]);
 
   return {
     // Data state
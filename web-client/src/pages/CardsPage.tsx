@@ -80,14 +80,11 @@ const CardsPage: React.FC = () => {
       setLoading(true);
       setError(null);
       
-      // Load deck info and cards in parallel
-      const [deckData, cardsData] = await Promise.all([
-        deckService.getById(deckId),
-        cardService.getByDeckId(deckId, 0, 20)
-      ]);
+      // Load deck info and the first page of cards in one request
+      const overview = await deckService.getOverview(deckId, 20);
       
-      setDeck(deckData);
-      setCards(cardsData);
+      setDeck(overview.deck);
+      setCards(overview.cards ?? await cardService.getByDeckId(deckId, 0, 20));
     } catch (err) {
       console.error('Error loading deck and cards:', err);
       handleError(err, 'load deck and cards');
@@ -7,7 +7,9 @@ import type {
   PutDeckDto, 
   PostCardDto, 
   PutCardDto, 
-  Page 
+  Page,
+  CursorPage,
+  DeckOverview
 } from '../types/api';
 import { handleApiError } from '../utils/errorHandler';
 
@@ -97,10 +99,23 @@ export const deckService = {
     });
   },
 
+  // Search decks by name and description
+  search: (query: string, size = 20, cursor?: string): Promise<CursorPage<Deck>> => {
+    const params = new URLSearchParams({ q: query, size: String(size) });
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+    return api.get(`/decks/search?${params.toString()}`).then(res => res.data);
+  },
+
   // Get deck by ID
   getById: (id: string): Promise<Deck> =>
     api.get(`/decks/${id}`).then(res => res.data),
 
+  // Get deck with the first page of its cards in one round trip
+  getOverview: (id: string, size = 20): Promise<DeckOverview> =>
+    api.get(`/decks/${id}/overview?size=${size}`).then(res => res.data),
+
   // Create new deck
   create: (deck: PostDeckDto): Promise<Deck> =>
     api.post('/decks', deck).then(res => res.data),
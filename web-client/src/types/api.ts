@@ -16,16 +16,25 @@ export interface Card {
   deckId: string;
   deckName?: string;
   deckCoverImageUrl?: string;
+  deckHexColor?: string;
   deckCardsCount?: number;
   createdAt: string;
   updatedAt: string;
 }
 
+export interface DeckSummary {
+  id: string;
+  name: string;
+  coverImageUrl?: string;
+  hexColor: string;
+  cardsCount: number;
+}
+
 export interface CardWithDeck {
   id: string;
   question: string;
   answer: string;
-  deck: Deck;
+  deck?: DeckSummary;
   createdAt: string;
   updatedAt: string;
 }
@@ -83,6 +92,19 @@ export interface Page<T> {
   empty: boolean;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  hasNext: boolean;
+  nextCursor: string | null;
+}
+
+export interface DeckOverview {
+  deck: Deck;
+  cards: Page<Card> | null;
+  unavailable: string[];
+}
+
 export interface ApiError {
   message: string;
   status: number;